@@ -0,0 +1,25 @@
+package com.banquito.sistema.originacion.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.*;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "originacion.cambios")
+public class ChangeFeedProperties {
+
+    // Un hueco en los identificadores puede ser una transacción aún sin confirmar: el lector
+    // no lo salta hasta que el cambio siguiente tiene al menos esta antigüedad
+    private Duration settleWindow = Duration.ofSeconds(5);
+
+    // Los cambios reemplazados por otro posterior del mismo producto se compactan pasado este tiempo
+    private Duration compactAfter = Duration.ofMinutes(10);
+
+    // Antigüedad máxima de un cursor: las eliminaciones más antiguas se descartan
+    private Duration tombstoneRetention = Duration.ofDays(7);
+
+    private Duration compactionInterval = Duration.ofMinutes(10);
+}
\ No newline at end of file
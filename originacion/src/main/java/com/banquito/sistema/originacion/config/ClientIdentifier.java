@@ -0,0 +1,34 @@
+package com.banquito.sistema.originacion.config;
+
+import java.util.Set;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+public final class ClientIdentifier {
+
+    public static final String FORWARDED_FOR = "X-Forwarded-For";
+
+    private ClientIdentifier() {
+    }
+
+    // Dirección que el cliente no puede falsificar: X-Forwarded-For solo se
+    // considera cuando la conexión llega desde un proxy de confianza
+    public static String resolveAddress(HttpServletRequest request, Set<String> trustedProxies) {
+        String remoteAddr = request.getRemoteAddr();
+        if (!trustedProxies.contains(remoteAddr)) {
+            return remoteAddr;
+        }
+        String forwardedFor = request.getHeader(FORWARDED_FOR);
+        if (forwardedFor == null || forwardedFor.trim().isEmpty()) {
+            return remoteAddr;
+        }
+        String[] hops = forwardedFor.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (!hop.isEmpty() && !trustedProxies.contains(hop)) {
+                return hop;
+            }
+        }
+        return remoteAddr;
+    }
+}
\ No newline at end of file
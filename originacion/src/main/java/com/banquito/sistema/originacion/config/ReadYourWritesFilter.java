@@ -0,0 +1,55 @@
+package com.banquito.sistema.originacion.config;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private final Set<String> trustedProxies;
+    private final long windowNanos;
+
+    public ReadYourWritesFilter(RoutingDataSourceProperties properties) {
+        this.trustedProxies = Set.copyOf(properties.getTrustedProxies());
+        this.windowNanos = properties.getReadYourWritesWindow().toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String clientId = ClientIdentifier.resolveAddress(request, this.trustedProxies);
+        Long lastWrite = this.lastWrites.get(clientId);
+        if (lastWrite != null && System.nanoTime() - lastWrite < this.windowNanos) {
+            RoutingContext.requirePrimary();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RoutingContext.clear();
+            if (isMutation(request) && response.getStatus() < 400) {
+                this.lastWrites.put(clientId, System.nanoTime());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${originacion.datasource.routing.read-your-writes-window:PT10S}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        this.lastWrites.values().removeIf(lastWrite -> now - lastWrite >= this.windowNanos);
+    }
+
+    private static boolean isMutation(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !"GET".equals(method) && !"HEAD".equals(method) && !"OPTIONS".equals(method);
+    }
+}
\ No newline at end of file
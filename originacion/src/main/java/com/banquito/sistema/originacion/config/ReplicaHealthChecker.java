@@ -0,0 +1,97 @@
+package com.banquito.sistema.originacion.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class ReplicaHealthChecker {
+
+    private static final int QUERY_TIMEOUT_SECONDS = 2;
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final RoutingDataSourceProperties properties;
+    private ScheduledExecutorService executor;
+
+    public ReplicaHealthChecker(ReplicaRoutingDataSource routingDataSource, RoutingDataSourceProperties properties) {
+        this.routingDataSource = routingDataSource;
+        this.properties = properties;
+    }
+
+    // Hilo propio: una réplica caída no debe retrasar otras tareas programadas
+    public void start() {
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = this.properties.getHealthCheckInterval().toMillis();
+        this.executor.scheduleWithFixedDelay(this::checkSafely, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public void close() {
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+        }
+    }
+
+    // Una excepción no controlada cancelaría las ejecuciones siguientes del executor
+    private void checkSafely() {
+        try {
+            this.check();
+        } catch (RuntimeException e) {
+            log.error("Error verificando réplicas", e);
+        }
+    }
+
+    public void check() {
+        long maxLagMillis = this.properties.getMaxLag().toMillis();
+        List<String> previous = this.routingDataSource.getHealthyReplicas();
+        List<String> healthy = new ArrayList<>();
+
+        for (Map.Entry<String, DataSource> entry : this.routingDataSource.getReplicas().entrySet()) {
+            String name = entry.getKey();
+            try {
+                long lagMillis = this.lagMillis(entry.getValue());
+                if (lagMillis <= maxLagMillis) {
+                    healthy.add(name);
+                } else if (previous.contains(name)) {
+                    log.warn("Réplica {} fuera de rotación, retraso de {} ms", name, lagMillis);
+                }
+            } catch (SQLException e) {
+                if (previous.contains(name)) {
+                    log.warn("Réplica {} fuera de rotación: {}", name, e.getMessage());
+                }
+            }
+        }
+
+        for (String name : healthy) {
+            if (!previous.contains(name)) {
+                log.info("Réplica {} disponible para lecturas", name);
+            }
+        }
+        this.routingDataSource.setHealthyReplicas(healthy);
+    }
+
+    private long lagMillis(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(QUERY_TIMEOUT_SECONDS);
+            try (ResultSet resultSet = statement.executeQuery(this.properties.getLagQuery())) {
+                resultSet.next();
+                return Math.round(resultSet.getDouble(1) * 1000);
+            }
+        }
+    }
+}
\ No newline at end of file
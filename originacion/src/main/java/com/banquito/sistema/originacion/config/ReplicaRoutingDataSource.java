@@ -0,0 +1,84 @@
+package com.banquito.sistema.originacion.config;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final AtomicInteger counter = new AtomicInteger();
+    private volatile List<String> healthyReplicas = List.of();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas) {
+        this.primary = primary;
+        this.replicas = new LinkedHashMap<>(replicas);
+
+        Map<Object, Object> targets = new HashMap<>(this.replicas);
+        targets.put(PRIMARY, primary);
+        this.setTargetDataSources(targets);
+        this.setDefaultTargetDataSource(primary);
+    }
+
+    public Map<String, DataSource> getReplicas() {
+        return this.replicas;
+    }
+
+    public List<String> getHealthyReplicas() {
+        return this.healthyReplicas;
+    }
+
+    public void setHealthyReplicas(List<String> healthyReplicas) {
+        this.healthyReplicas = List.copyOf(healthyReplicas);
+    }
+
+    // El pool primario es el que limita las escrituras: unwrap lo expone sin depender del
+    // enrutamiento de la transacción en curso
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return this.primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || this.primary.isWrapperFor(iface);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || RoutingContext.isPrimaryRequired()) {
+            return PRIMARY;
+        }
+        List<String> candidates = this.healthyReplicas;
+        if (candidates.isEmpty()) {
+            return PRIMARY;
+        }
+        int index = Math.floorMod(this.counter.getAndIncrement(), candidates.size());
+        return candidates.get(index);
+    }
+
+    public void close() throws Exception {
+        List<DataSource> dataSources = new ArrayList<>(this.replicas.values());
+        dataSources.add(this.primary);
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
\ No newline at end of file
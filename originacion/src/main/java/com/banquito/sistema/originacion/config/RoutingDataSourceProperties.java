@@ -0,0 +1,59 @@
+package com.banquito.sistema.originacion.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.*;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "originacion.datasource.routing")
+public class RoutingDataSourceProperties {
+
+    private boolean enabled = false;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    // Retraso máximo tolerado antes de sacar una réplica de la rotación
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    // Tiempo durante el cual un cliente lee del primario después de escribir
+    private Duration readYourWritesWindow = Duration.ofSeconds(10);
+
+    // Únicas direcciones desde las que se acepta X-Forwarded-For para identificar al cliente
+    private Set<String> trustedProxies = new LinkedHashSet<>();
+
+    private Duration healthCheckInterval = Duration.ofSeconds(2);
+
+    private Duration replicaConnectionTimeout = Duration.ofSeconds(1);
+
+    private Duration replicaValidationTimeout = Duration.ofMillis(500);
+
+    private String lagQuery = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+            + "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    // Una réplica en rotación puede llevar hasta maxLag de retraso y seguir en rotación un
+    // intervalo de verificación más: la ventana debe cubrir ambos para leer lo propio escrito
+    public void validateReadYourWritesWindow() {
+        Duration minimo = this.maxLag.plus(this.healthCheckInterval);
+        if (this.readYourWritesWindow.compareTo(minimo) < 0) {
+            throw new IllegalStateException("La ventana de lectura de escrituras propias (" + this.readYourWritesWindow
+                    + ") debe ser al menos el retraso máximo más el intervalo de verificación (" + minimo + ")");
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        private String url;
+        private String username;
+        private String password;
+    }
+}
\ No newline at end of file
@@ -6,6 +6,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.banquito.sistema.originacion.dto.ResumenCategoriaDTO;
+import com.banquito.sistema.originacion.exception.ErrorResponses;
 import com.banquito.sistema.originacion.model.CategoriaProducto;
 import com.banquito.sistema.originacion.service.CategoriaProductoService;
 
@@ -17,76 +19,60 @@ import jakarta.validation.Valid;
 public class CategoriaProductoController {
 
     private final CategoriaProductoService service;
+    private final ErrorResponses errorResponses;
 
-    public CategoriaProductoController(CategoriaProductoService service) {
+    public CategoriaProductoController(CategoriaProductoService service, ErrorResponses errorResponses) {
         this.service = service;
+        this.errorResponses = errorResponses;
     }
 
     @GetMapping
     public ResponseEntity<List<CategoriaProducto>> findAll(
             @RequestParam(required = false) String nombre) {
-        try {
-            List<CategoriaProducto> categorias;
-            if (nombre != null && !nombre.trim().isEmpty()) {
-                categorias = this.service.findByNombreContaining(nombre);
-            } else {
-                categorias = this.service.findAll();
-            }
-            return ResponseEntity.ok(categorias);
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        List<CategoriaProducto> categorias;
+        if (nombre != null && !nombre.trim().isEmpty()) {
+            categorias = this.service.findByNombreContaining(nombre);
+        } else {
+            categorias = this.service.findAll();
         }
+        return ResponseEntity.ok(categorias);
+    }
+
+    @GetMapping("/resumen")
+    public ResponseEntity<List<ResumenCategoriaDTO>> findResumenes() {
+        List<ResumenCategoriaDTO> resumenes = this.service.findResumenes();
+        return ResponseEntity.ok(resumenes);
+    }
+
+    @GetMapping("/{id}/resumen")
+    public ResponseEntity<?> findResumen(@PathVariable Long id) {
+        return this.errorResponses.from(this.service.findResumen(id), HttpStatus.OK);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CategoriaProducto> findById(@PathVariable Long id) {
-        try {
-            CategoriaProducto categoria = this.service.findById(id);
-            return ResponseEntity.ok(categoria);
-        } catch (Exception e) {
-            return ResponseEntity.notFound().build();
-        }
+    public ResponseEntity<?> findById(@PathVariable Long id) {
+        return this.errorResponses.from(this.service.findById(id), HttpStatus.OK);
     }
 
     @GetMapping("/nombre/{nombre}")
-    public ResponseEntity<CategoriaProducto> findByNombre(@PathVariable String nombre) {
-        try {
-            CategoriaProducto categoria = this.service.findByNombre(nombre);
-            return ResponseEntity.ok(categoria);
-        } catch (Exception e) {
-            return ResponseEntity.notFound().build();
-        }
+    public ResponseEntity<?> findByNombre(@PathVariable String nombre) {
+        return this.errorResponses.from(this.service.findByNombre(nombre), HttpStatus.OK);
     }
 
     @PostMapping
-    public ResponseEntity<CategoriaProducto> create(@Valid @RequestBody CategoriaProducto categoriaProducto) {
-        try {
-            CategoriaProducto savedCategoria = this.service.create(categoriaProducto);
-            return ResponseEntity.status(HttpStatus.CREATED).body(savedCategoria);
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().build();
-        }
+    public ResponseEntity<?> create(@Valid @RequestBody CategoriaProducto categoriaProducto) {
+        return this.errorResponses.from(this.service.create(categoriaProducto), HttpStatus.CREATED);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<CategoriaProducto> update(
-            @PathVariable Long id, 
+    public ResponseEntity<?> update(
+            @PathVariable Long id,
             @Valid @RequestBody CategoriaProducto categoriaProducto) {
-        try {
-            CategoriaProducto updatedCategoria = this.service.update(id, categoriaProducto);
-            return ResponseEntity.ok(updatedCategoria);
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().build();
-        }
+        return this.errorResponses.from(this.service.update(id, categoriaProducto), HttpStatus.OK);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable Long id) {
-        try {
-            this.service.delete(id);
-            return ResponseEntity.noContent().build();
-        } catch (Exception e) {
-            return ResponseEntity.notFound().build();
-        }
+    public ResponseEntity<?> delete(@PathVariable Long id) {
+        return this.errorResponses.from(this.service.delete(id), HttpStatus.NO_CONTENT);
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
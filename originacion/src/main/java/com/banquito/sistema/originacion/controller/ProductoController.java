@@ -8,6 +8,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.banquito.sistema.originacion.dto.CambiosProductoDTO;
+import com.banquito.sistema.originacion.exception.ErrorResponses;
+import com.banquito.sistema.originacion.exception.ErrorType;
 import com.banquito.sistema.originacion.model.Producto;
 import com.banquito.sistema.originacion.service.ProductoService;
 
@@ -19,9 +22,11 @@ import jakarta.validation.Valid;
 public class ProductoController {
 
     private final ProductoService service;
+    private final ErrorResponses errorResponses;
 
-    public ProductoController(ProductoService service) {
+    public ProductoController(ProductoService service, ErrorResponses errorResponses) {
         this.service = service;
+        this.errorResponses = errorResponses;
     }
 
     @GetMapping
@@ -30,122 +35,99 @@ public class ProductoController {
             @RequestParam(required = false) Long categoriaId,
             @RequestParam(required = false) String nombre,
             @RequestParam(required = false) Integer stockMinimo) {
-        try {
-            List<Producto> productos;
-            
-            if (stockMinimo != null) {
-                productos = this.service.findByStockBajo(stockMinimo);
-            } else if (estado != null && categoriaId != null) {
-                productos = this.service.findByEstadoAndCategoria(estado, categoriaId);
-            } else if (estado != null) {
-                productos = this.service.findByEstado(estado);
-            } else if (categoriaId != null) {
-                productos = this.service.findByCategoria(categoriaId);
-            } else if (nombre != null && !nombre.trim().isEmpty()) {
-                productos = this.service.findByNombre(nombre);
-            } else {
-                productos = this.service.findAll();
-            }
-            
-            return ResponseEntity.ok(productos);
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        List<Producto> productos;
+
+        if (stockMinimo != null) {
+            productos = this.service.findByStockBajo(stockMinimo);
+        } else if (estado != null && categoriaId != null) {
+            productos = this.service.findByEstadoAndCategoria(estado, categoriaId);
+        } else if (estado != null) {
+            productos = this.service.findByEstado(estado);
+        } else if (categoriaId != null) {
+            productos = this.service.findByCategoria(categoriaId);
+        } else if (nombre != null && !nombre.trim().isEmpty()) {
+            productos = this.service.findByNombre(nombre);
+        } else {
+            productos = this.service.findAll();
         }
+
+        return ResponseEntity.ok(productos);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Producto> findById(@PathVariable Long id) {
-        try {
-            Producto producto = this.service.findById(id);
-            return ResponseEntity.ok(producto);
-        } catch (Exception e) {
-            return ResponseEntity.notFound().build();
-        }
+    public ResponseEntity<?> findById(@PathVariable Long id) {
+        return this.errorResponses.from(this.service.findById(id), HttpStatus.OK);
     }
 
     @GetMapping("/agotados")
     public ResponseEntity<List<Producto>> findProductosAgotados() {
-        try {
-            List<Producto> productos = this.service.findProductosAgotados();
-            return ResponseEntity.ok(productos);
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        List<Producto> productos = this.service.findProductosAgotados();
+        return ResponseEntity.ok(productos);
+    }
+
+    @GetMapping("/cambios")
+    public ResponseEntity<CambiosProductoDTO> findCambios(
+            @RequestParam(required = false) Long desde,
+            @RequestParam(required = false) Integer limite) {
+        CambiosProductoDTO cambios = this.service.findCambios(desde, limite);
+        return ResponseEntity.ok(cambios);
     }
 
     @PostMapping
-    public ResponseEntity<Producto> create(@Valid @RequestBody Producto producto) {
-        try {
-            Producto savedProducto = this.service.create(producto);
-            return ResponseEntity.status(HttpStatus.CREATED).body(savedProducto);
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().build();
-        }
+    public ResponseEntity<?> create(@Valid @RequestBody Producto producto) {
+        return this.errorResponses.from(this.service.create(producto), HttpStatus.CREATED);
     }
 
     @PatchMapping("/{id}/estado")
-    public ResponseEntity<Producto> changeState(
+    public ResponseEntity<?> changeState(
             @PathVariable Long id,
             @RequestBody Map<String, String> request) {
-        try {
-            String newState = request.get("estado");
-            String motivo = request.get("motivo");
-            
-            if (newState == null || newState.trim().isEmpty()) {
-                return ResponseEntity.badRequest().build();
-            }
-            
-            Producto updatedProducto = this.service.changeState(id, newState, motivo);
-            return ResponseEntity.ok(updatedProducto);
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().build();
+        String newState = request.get("estado");
+        String motivo = request.get("motivo");
+
+        if (newState == null || newState.trim().isEmpty()) {
+            return this.errorResponses.error(ErrorType.INVALID_REQUEST, "El estado es obligatorio");
         }
+
+        return this.errorResponses.from(this.service.changeState(id, newState, motivo), HttpStatus.OK);
     }
 
     @PatchMapping("/{id}/aumentar-stock")
-    public ResponseEntity<Producto> aumentarStock(
+    public ResponseEntity<?> aumentarStock(
             @PathVariable Long id,
             @RequestBody Map<String, Object> request) {
+        Object cantidad = request.get("cantidad");
+        Object precioCompra = request.get("precioCompra");
+
+        if (!(cantidad instanceof Integer) || precioCompra == null) {
+            return this.errorResponses.error(ErrorType.INVALID_REQUEST, "La cantidad y el precio de compra son obligatorios");
+        }
+
+        BigDecimal precio;
         try {
-            Integer cantidad = (Integer) request.get("cantidad");
-            BigDecimal precioCompra = new BigDecimal(request.get("precioCompra").toString());
-            
-            if (cantidad == null || precioCompra == null) {
-                return ResponseEntity.badRequest().build();
-            }
-            
-            Producto updatedProducto = this.service.aumentarStock(id, cantidad, precioCompra);
-            return ResponseEntity.ok(updatedProducto);
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().build();
+            precio = new BigDecimal(precioCompra.toString());
+        } catch (NumberFormatException e) {
+            return this.errorResponses.error(ErrorType.INVALID_REQUEST, "El precio de compra debe ser numérico");
         }
+
+        return this.errorResponses.from(this.service.aumentarStock(id, (Integer) cantidad, precio), HttpStatus.OK);
     }
 
     @PatchMapping("/{id}/disminuir-stock")
-    public ResponseEntity<Producto> disminuirStock(
+    public ResponseEntity<?> disminuirStock(
             @PathVariable Long id,
             @RequestBody Map<String, Integer> request) {
-        try {
-            Integer cantidad = request.get("cantidad");
-            
-            if (cantidad == null) {
-                return ResponseEntity.badRequest().build();
-            }
-            
-            Producto updatedProducto = this.service.disminuirStock(id, cantidad);
-            return ResponseEntity.ok(updatedProducto);
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().build();
+        Integer cantidad = request.get("cantidad");
+
+        if (cantidad == null) {
+            return this.errorResponses.error(ErrorType.INVALID_REQUEST, "La cantidad es obligatoria");
         }
+
+        return this.errorResponses.from(this.service.disminuirStock(id, cantidad), HttpStatus.OK);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable Long id) {
-        try {
-            this.service.delete(id);
-            return ResponseEntity.noContent().build();
-        } catch (Exception e) {
-            return ResponseEntity.notFound().build();
-        }
+    public ResponseEntity<?> delete(@PathVariable Long id) {
+        return this.errorResponses.from(this.service.delete(id), HttpStatus.NO_CONTENT);
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.banquito.sistema.originacion.dto;
+
+import java.util.List;
+
+import com.banquito.sistema.originacion.model.Producto;
+
+import lombok.*;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class CambiosProductoDTO {
+
+    private Long cursor;
+    private boolean hayMas;
+    private List<Producto> productos;
+    private List<Long> eliminados;
+}
\ No newline at end of file
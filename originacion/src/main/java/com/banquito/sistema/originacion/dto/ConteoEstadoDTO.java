@@ -0,0 +1,14 @@
+package com.banquito.sistema.originacion.dto;
+
+import lombok.*;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class ConteoEstadoDTO {
+
+    private Long idCategoria;
+    private String estadoProducto;
+    private Long cantidad;
+    private Long stock;
+}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.banquito.sistema.originacion.dto;
+
+import lombok.*;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class ErrorDTO {
+
+    private String tipo;
+    private String mensaje;
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.banquito.sistema.originacion.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lombok.*;
+
+@Getter
+@ToString
+public class ResumenCategoriaDTO {
+
+    private final Long idCategoria;
+    private final String nombreCategoria;
+    private long totalProductos;
+    private long stockTotal;
+    private final Map<String, Long> productosPorEstado = new LinkedHashMap<>();
+
+    public ResumenCategoriaDTO(Long idCategoria, String nombreCategoria) {
+        this.idCategoria = idCategoria;
+        this.nombreCategoria = nombreCategoria;
+    }
+
+    public void agregar(ConteoEstadoDTO conteo) {
+        this.totalProductos += conteo.getCantidad();
+        this.stockTotal += conteo.getStock();
+        this.productosPorEstado.merge(conteo.getEstadoProducto(), conteo.getCantidad(), Long::sum);
+    }
+}
\ No newline at end of file
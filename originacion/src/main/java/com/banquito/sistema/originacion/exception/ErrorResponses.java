@@ -0,0 +1,55 @@
+package com.banquito.sistema.originacion.exception;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.banquito.sistema.originacion.dto.ErrorDTO;
+import com.banquito.sistema.originacion.service.Resultado;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Component
+public class ErrorResponses {
+
+    private final Map<ErrorType, Counter> counters = new EnumMap<>(ErrorType.class);
+
+    public ErrorResponses(MeterRegistry registry) {
+        for (ErrorType errorType : ErrorType.values()) {
+            this.counters.put(errorType, Counter.builder("originacion.errores")
+                    .tag("tipo", errorType.name().toLowerCase(Locale.ROOT))
+                    .register(registry));
+        }
+    }
+
+    public <T> ResponseEntity<?> from(Resultado<T> resultado, HttpStatus status) {
+        if (!resultado.isOk()) {
+            return this.error(resultado.getErrorType(), resultado.getMensaje());
+        }
+        if (resultado.getValor() == null) {
+            return ResponseEntity.status(status).build();
+        }
+        return ResponseEntity.status(status).body(resultado.getValor());
+    }
+
+    public ResponseEntity<ErrorDTO> error(ErrorType errorType, String mensaje) {
+        return this.error(errorType, errorType.getStatus(), mensaje);
+    }
+
+    // Para estados 4xx sin tipo propio (413, 414...) se conserva el código original
+    public ResponseEntity<ErrorDTO> error(ErrorType errorType, HttpStatusCode status, String mensaje) {
+        return ResponseEntity.status(status).body(this.record(errorType, mensaje));
+    }
+
+    // Cuenta el error y construye el cuerpo para quien escribe la respuesta directamente
+    public ErrorDTO record(ErrorType errorType, String mensaje) {
+        this.counters.get(errorType).increment();
+        return new ErrorDTO(errorType.name(), mensaje);
+    }
+}
\ No newline at end of file
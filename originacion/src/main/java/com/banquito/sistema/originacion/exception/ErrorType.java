@@ -0,0 +1,50 @@
+package com.banquito.sistema.originacion.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+
+public enum ErrorType {
+
+    NOT_FOUND(HttpStatus.NOT_FOUND),
+    DUPLICATE(HttpStatus.CONFLICT),
+    INVALID_STATE(HttpStatus.CONFLICT),
+    IN_USE(HttpStatus.CONFLICT),
+    INSUFFICIENT_STOCK(HttpStatus.CONFLICT),
+    CONCURRENT_MODIFICATION(HttpStatus.CONFLICT),
+    DATA_INTEGRITY(HttpStatus.CONFLICT),
+    INVALID_REQUEST(HttpStatus.BAD_REQUEST),
+    METHOD_NOT_ALLOWED(HttpStatus.METHOD_NOT_ALLOWED),
+    NOT_ACCEPTABLE(HttpStatus.NOT_ACCEPTABLE),
+    UNSUPPORTED_MEDIA_TYPE(HttpStatus.UNSUPPORTED_MEDIA_TYPE),
+    RATE_LIMITED(HttpStatus.TOO_MANY_REQUESTS),
+    UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE),
+    INTERNAL(HttpStatus.INTERNAL_SERVER_ERROR);
+
+    private final HttpStatus status;
+
+    ErrorType(HttpStatus status) {
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return this.status;
+    }
+
+    // Tipo para los errores de cliente que Spring MVC resuelve antes de llegar al controlador
+    public static ErrorType fromClientStatus(HttpStatusCode status) {
+        switch (status.value()) {
+            case 404:
+                return NOT_FOUND;
+            case 405:
+                return METHOD_NOT_ALLOWED;
+            case 406:
+                return NOT_ACCEPTABLE;
+            case 415:
+                return UNSUPPORTED_MEDIA_TYPE;
+            case 429:
+                return RATE_LIMITED;
+            default:
+                return INVALID_REQUEST;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,103 @@
+package com.banquito.sistema.originacion.exception;
+
+import java.sql.SQLException;
+
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.validation.FieldError;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+import com.banquito.sistema.originacion.dto.ErrorDTO;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    private static final String UNIQUE_VIOLATION = "23505";
+    private static final String FOREIGN_KEY_VIOLATION = "23503";
+
+    private final ErrorResponses errorResponses;
+
+    public GlobalExceptionHandler(ErrorResponses errorResponses) {
+        this.errorResponses = errorResponses;
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorDTO> handleOptimisticLocking(OptimisticLockingFailureException e) {
+        return this.errorResponses.error(ErrorType.CONCURRENT_MODIFICATION,
+                "El registro fue modificado por otra operación, intente nuevamente");
+    }
+
+    // El SQLState distingue la restricción violada en PostgreSQL y en H2
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorDTO> handleDataIntegrity(DataIntegrityViolationException e) {
+        Throwable causa = NestedExceptionUtils.getMostSpecificCause(e);
+        String sqlState = causa instanceof SQLException sqlException ? sqlException.getSQLState() : null;
+        if (UNIQUE_VIOLATION.equals(sqlState)) {
+            return this.errorResponses.error(ErrorType.DUPLICATE, "Ya existe un registro con los mismos datos");
+        }
+        if (FOREIGN_KEY_VIOLATION.equals(sqlState)) {
+            return this.errorResponses.error(ErrorType.IN_USE, "El registro está referenciado por otros registros");
+        }
+        log.warn("Violación de integridad de datos: {}", causa.getMessage());
+        return this.errorResponses.error(ErrorType.DATA_INTEGRITY, "La operación viola una restricción de integridad de datos");
+    }
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<ErrorDTO> handleValidation(MethodArgumentNotValidException e) {
+        FieldError fieldError = e.getBindingResult().getFieldError();
+        String mensaje = fieldError != null ? fieldError.getDefaultMessage() : "Solicitud inválida";
+        return this.errorResponses.error(ErrorType.INVALID_REQUEST, mensaje);
+    }
+
+    @ExceptionHandler(TypeMismatchException.class)
+    public ResponseEntity<ErrorDTO> handleTypeMismatch(TypeMismatchException e) {
+        String parametro = e instanceof MethodArgumentTypeMismatchException mismatch ? mismatch.getName() : e.getPropertyName();
+        return this.errorResponses.error(ErrorType.INVALID_REQUEST,
+                "El valor '" + e.getValue() + "' no es válido para el parámetro " + parametro);
+    }
+
+    @ExceptionHandler(MissingServletRequestParameterException.class)
+    public ResponseEntity<ErrorDTO> handleMissingParameter(MissingServletRequestParameterException e) {
+        return this.errorResponses.error(ErrorType.INVALID_REQUEST, "El parámetro " + e.getParameterName() + " es obligatorio");
+    }
+
+    // Cubre el cuerpo mal formado, incluidos los números que no se pueden convertir
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorDTO> handleNotReadable(HttpMessageNotReadableException e) {
+        return this.errorResponses.error(ErrorType.INVALID_REQUEST, "El cuerpo de la solicitud no es válido");
+    }
+
+    // El cliente cerró la conexión: no hay respuesta que escribir ni error del servidor
+    @ExceptionHandler(AsyncRequestNotUsableException.class)
+    public void handleClientAbort(AsyncRequestNotUsableException e) {
+        log.debug("Cliente desconectado antes de recibir la respuesta: {}", e.getMessage());
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorDTO> handleUnexpected(Exception e) {
+        // Las excepciones propias de Spring MVC (404 de ruta, 405, 415...) conservan su estado
+        if (e instanceof ErrorResponse errorResponse) {
+            HttpStatusCode status = errorResponse.getStatusCode();
+            if (status.is4xxClientError()) {
+                return this.errorResponses.error(ErrorType.fromClientStatus(status), status,
+                        errorResponse.getBody().getDetail());
+            }
+        }
+        log.error("Error no controlado", e);
+        return this.errorResponses.error(ErrorType.INTERNAL, "Error interno del servidor");
+    }
+}
\ No newline at end of file
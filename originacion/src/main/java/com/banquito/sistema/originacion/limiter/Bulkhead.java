@@ -0,0 +1,37 @@
+package com.banquito.sistema.originacion.limiter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class Bulkhead {
+
+    private final int maxConcurrent;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public Bulkhead(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    public boolean tryEnter() {
+        while (true) {
+            int current = this.inFlight.get();
+            if (current >= this.maxConcurrent) {
+                return false;
+            }
+            if (this.inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void exit() {
+        this.inFlight.decrementAndGet();
+    }
+
+    public int getInFlight() {
+        return this.inFlight.get();
+    }
+
+    public int getMaxConcurrent() {
+        return this.maxConcurrent;
+    }
+}
\ No newline at end of file
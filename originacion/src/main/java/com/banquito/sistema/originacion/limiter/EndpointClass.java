@@ -0,0 +1,41 @@
+package com.banquito.sistema.originacion.limiter;
+
+import java.util.regex.Pattern;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+public enum EndpointClass {
+
+    READ, SEARCH, STOCK_WRITE, ADMIN;
+
+    private static final String PRODUCTOS = "/api/productos";
+    private static final String CATEGORIAS = "/api/categorias-producto";
+    private static final Pattern STOCK = Pattern.compile("^/api/productos/[^/]+/(aumentar|disminuir)-stock$");
+
+    public static EndpointClass classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith(PRODUCTOS) && !path.startsWith(CATEGORIAS)) {
+            return null;
+        }
+
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method)) {
+            // Listados sin filtro por categoría, búsquedas y agregados recorren la tabla completa
+            if (PRODUCTOS.equals(path)) {
+                return request.getParameter("categoriaId") != null && request.getParameter("stockMinimo") == null
+                        && request.getParameter("nombre") == null ? READ : SEARCH;
+            }
+            if (CATEGORIAS.equals(path) && request.getParameter("nombre") != null) {
+                return SEARCH;
+            }
+            if (path.endsWith("/agotados") || path.endsWith("/resumen")) {
+                return SEARCH;
+            }
+            return READ;
+        }
+        if ("PATCH".equals(method) && STOCK.matcher(path).matches()) {
+            return STOCK_WRITE;
+        }
+        return ADMIN;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.banquito.sistema.originacion.limiter;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.banquito.sistema.originacion.exception.ErrorResponses;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(LimiterProperties.class)
+@ConditionalOnProperty(prefix = "originacion.limiter", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class LimiterConfig {
+
+    @Bean
+    public LimiterFilter limiterFilter(LimiterProperties properties, MeterRegistry registry, DataSource dataSource,
+            ErrorResponses errorResponses, ObjectMapper objectMapper) throws SQLException {
+        // Se valida contra el pool realmente construido, no contra la propiedad
+        if (dataSource.isWrapperFor(HikariDataSource.class)) {
+            properties.validateConnectionBudget(dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize());
+        }
+        return new LimiterFilter(properties, registry, errorResponses, objectMapper);
+    }
+
+    // Se ejecuta antes que cualquier otro filtro para descartar la petición lo antes posible
+    @Bean
+    public FilterRegistrationBean<LimiterFilter> limiterFilterRegistration(LimiterFilter limiterFilter) {
+        FilterRegistrationBean<LimiterFilter> registration = new FilterRegistrationBean<>(limiterFilter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
\ No newline at end of file
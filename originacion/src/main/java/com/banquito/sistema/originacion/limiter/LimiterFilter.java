@@ -0,0 +1,142 @@
+package com.banquito.sistema.originacion.limiter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.banquito.sistema.originacion.config.ClientIdentifier;
+import com.banquito.sistema.originacion.exception.ErrorResponses;
+import com.banquito.sistema.originacion.exception.ErrorType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+public class LimiterFilter extends OncePerRequestFilter {
+
+    private final LimiterProperties properties;
+    private final ErrorResponses errorResponses;
+    private final ObjectMapper objectMapper;
+    private final Set<String> trustedProxies;
+    private final Map<EndpointClass, Bulkhead> bulkheads = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, ConcurrentHashMap<String, TokenBucket>> buckets = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, TokenBucket> overflowBuckets = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> rateLimited = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> bulkheadFull = new EnumMap<>(EndpointClass.class);
+
+    public LimiterFilter(LimiterProperties properties, MeterRegistry registry, ErrorResponses errorResponses,
+            ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.errorResponses = errorResponses;
+        this.objectMapper = objectMapper;
+        this.trustedProxies = Set.copyOf(properties.getTrustedProxies());
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            String tag = endpointClass.name().toLowerCase(Locale.ROOT);
+            Bulkhead bulkhead = new Bulkhead(properties.forClass(endpointClass).getMaxConcurrent());
+            ConcurrentHashMap<String, TokenBucket> clientBuckets = new ConcurrentHashMap<>();
+            this.bulkheads.put(endpointClass, bulkhead);
+            this.buckets.put(endpointClass, clientBuckets);
+            this.overflowBuckets.put(endpointClass, this.newBucket(endpointClass, System.nanoTime()));
+
+            Gauge.builder("originacion.bulkhead.in_flight", bulkhead, Bulkhead::getInFlight)
+                    .tag("clase", tag)
+                    .register(registry);
+            Gauge.builder("originacion.bulkhead.max_concurrent", bulkhead, Bulkhead::getMaxConcurrent)
+                    .tag("clase", tag)
+                    .register(registry);
+            Gauge.builder("originacion.limiter.clients", clientBuckets, Map::size)
+                    .tag("clase", tag)
+                    .register(registry);
+            this.rateLimited.put(endpointClass, Counter.builder("originacion.limiter.rejected")
+                    .tag("clase", tag)
+                    .tag("motivo", "rate_limit")
+                    .register(registry));
+            this.bulkheadFull.put(endpointClass, Counter.builder("originacion.limiter.rejected")
+                    .tag("clase", tag)
+                    .tag("motivo", "bulkhead")
+                    .register(registry));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = EndpointClass.classify(request);
+        if (endpointClass == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // El bulkhead se ocupa antes de gastar el permiso: una petición descartada por
+        // saturación no consume la cuota del cliente
+        Bulkhead bulkhead = this.bulkheads.get(endpointClass);
+        if (!bulkhead.tryEnter()) {
+            this.bulkheadFull.get(endpointClass).increment();
+            this.reject(response, ErrorType.UNAVAILABLE, "Servicio saturado, intente nuevamente", 1);
+            return;
+        }
+        try {
+            long now = System.nanoTime();
+            TokenBucket bucket = this.bucketFor(endpointClass,
+                    ClientIdentifier.resolveAddress(request, this.trustedProxies), now);
+            long wait = bucket.tryAcquire(now);
+            if (wait > 0) {
+                this.rateLimited.get(endpointClass).increment();
+                this.reject(response, ErrorType.RATE_LIMITED, "Límite de solicitudes excedido, intente nuevamente",
+                        TimeUnit.NANOSECONDS.toSeconds(wait) + 1);
+                return;
+            }
+            filterChain.doFilter(request, response);
+        } finally {
+            bulkhead.exit();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${originacion.limiter.eviction-interval:PT1M}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        for (ConcurrentHashMap<String, TokenBucket> clientBuckets : this.buckets.values()) {
+            clientBuckets.values().removeIf(bucket -> bucket.isIdle(now));
+        }
+    }
+
+    private TokenBucket bucketFor(EndpointClass endpointClass, String clientAddress, long now) {
+        ConcurrentHashMap<String, TokenBucket> clientBuckets = this.buckets.get(endpointClass);
+        TokenBucket bucket = clientBuckets.get(clientAddress);
+        if (bucket != null) {
+            return bucket;
+        }
+        // Con el mapa lleno no se crean más entradas: los clientes nuevos comparten un bucket
+        if (clientBuckets.size() >= this.properties.getMaxClients()) {
+            return this.overflowBuckets.get(endpointClass);
+        }
+        return clientBuckets.computeIfAbsent(clientAddress, key -> this.newBucket(endpointClass, now));
+    }
+
+    private TokenBucket newBucket(EndpointClass endpointClass, long now) {
+        LimiterProperties.Limit limit = this.properties.forClass(endpointClass);
+        return new TokenBucket(limit.getRatePerSecond(), limit.getBurst(), now);
+    }
+
+    private void reject(HttpServletResponse response, ErrorType errorType, String mensaje, long retryAfterSeconds)
+            throws IOException {
+        response.setStatus(errorType.getStatus().value());
+        response.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        this.objectMapper.writeValue(response.getOutputStream(), this.errorResponses.record(errorType, mensaje));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.banquito.sistema.originacion.limiter;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.*;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "originacion.limiter")
+public class LimiterProperties {
+
+    private boolean enabled = true;
+
+    private Duration evictionInterval = Duration.ofMinutes(1);
+
+    // Por encima de este número los clientes nuevos comparten un bucket por clase
+    private int maxClients = 100_000;
+
+    // Únicas direcciones desde las que se acepta X-Forwarded-For
+    private Set<String> trustedProxies = new LinkedHashSet<>();
+
+    // Cada petición usa a lo sumo una conexión: la suma de los bulkheads no supera
+    // el pool JDBC (20) y stockWrite es la cuota reservada a las escrituras de stock
+    private Limit read = new Limit(8, 50, 100);
+    private Limit search = new Limit(2, 5, 10);
+    private Limit stockWrite = new Limit(6, 50, 100);
+    private Limit admin = new Limit(2, 10, 20);
+
+    public Limit forClass(EndpointClass endpointClass) {
+        switch (endpointClass) {
+            case READ:
+                return this.read;
+            case SEARCH:
+                return this.search;
+            case STOCK_WRITE:
+                return this.stockWrite;
+            default:
+                return this.admin;
+        }
+    }
+
+    public void validateConnectionBudget(int poolSize) {
+        int total = this.read.getMaxConcurrent() + this.search.getMaxConcurrent()
+                + this.admin.getMaxConcurrent() + this.stockWrite.getMaxConcurrent();
+        if (total > poolSize) {
+            throw new IllegalStateException("Los bulkheads suman " + total
+                    + " peticiones concurrentes y el pool JDBC solo tiene " + poolSize + " conexiones");
+        }
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+
+        private int maxConcurrent;
+        private double ratePerSecond;
+        private int burst;
+    }
+}
\ No newline at end of file
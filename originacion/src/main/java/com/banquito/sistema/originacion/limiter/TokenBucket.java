@@ -0,0 +1,38 @@
+package com.banquito.sistema.originacion.limiter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token bucket expresado como GCRA: el estado completo cabe en un solo AtomicLong
+// (instante teórico de la siguiente llegada), así que se actualiza con CAS sin bloqueos
+public class TokenBucket {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(double ratePerSecond, int burst, long now) {
+        this.intervalNanos = (long) (1_000_000_000L / ratePerSecond);
+        this.toleranceNanos = this.intervalNanos * (Math.max(burst, 1) - 1);
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    // Devuelve 0 si se concede el permiso o los nanosegundos que faltan para el siguiente
+    public long tryAcquire(long now) {
+        while (true) {
+            long current = this.theoreticalArrival.get();
+            long base = Math.max(current, now);
+            long wait = base - now - this.toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (this.theoreticalArrival.compareAndSet(current, base + this.intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    // Un bucket inactivo está lleno y equivale a uno nuevo, se puede descartar
+    public boolean isIdle(long now) {
+        return this.theoreticalArrival.get() <= now;
+    }
+}
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.banquito.sistema.originacion.model;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Objects;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -9,7 +10,7 @@ import jakarta.validation.constraints.*;
 import lombok.*;
 
 @Entity
-@Table(name = "productos")
+@Table(name = "productos", indexes = @Index(name = "idx_productos_id_categoria", columnList = "id_categoria"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -62,6 +63,9 @@ public class Producto {
     @Column(name = "version")
     private Long version;
 
+    @Column(name = "fecha_modificacion")
+    private LocalDateTime fechaModificacion;
+
     public Producto(Long idProducto) {
         this.idProducto = idProducto;
     }
@@ -87,6 +91,7 @@ public class Producto {
         if (stockActual != null && stockActual == 0) {
             estadoProducto = "AGOTADO";
         }
+        fechaModificacion = LocalDateTime.now();
     }
 
     @PreUpdate
@@ -94,5 +99,6 @@ public class Producto {
         if (stockActual != null && stockActual == 0 && "ACTIVO".equals(estadoProducto)) {
             estadoProducto = "AGOTADO";
         }
+        fechaModificacion = LocalDateTime.now();
     }
 } 
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.banquito.sistema.originacion.model;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "producto_cambio", indexes = @Index(name = "idx_producto_cambio_id_producto", columnList = "id_producto"))
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class ProductoCambio {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_cambio")
+    private Long idCambio;
+
+    @Column(name = "id_producto", nullable = false)
+    private Long idProducto;
+
+    @Column(name = "tipo_cambio", length = 20, nullable = false)
+    private String tipoCambio;
+
+    @Column(name = "fecha_cambio", nullable = false)
+    private LocalDateTime fechaCambio;
+
+    public ProductoCambio(Long idProducto, String tipoCambio) {
+        this.idProducto = idProducto;
+        this.tipoCambio = tipoCambio;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ProductoCambio that = (ProductoCambio) o;
+        return Objects.equals(idCambio, that.idCambio);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(idCambio);
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        fechaCambio = LocalDateTime.now();
+    }
+}
\ No newline at end of file
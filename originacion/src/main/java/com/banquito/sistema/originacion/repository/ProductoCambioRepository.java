@@ -0,0 +1,28 @@
+package com.banquito.sistema.originacion.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.banquito.sistema.originacion.model.ProductoCambio;
+
+@Repository
+public interface ProductoCambioRepository extends JpaRepository<ProductoCambio, Long> {
+
+    List<ProductoCambio> findByIdCambioGreaterThanOrderByIdCambioAsc(Long idCambio, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM ProductoCambio c WHERE c.fechaCambio < :limite AND EXISTS "
+            + "(SELECT 1 FROM ProductoCambio p WHERE p.idProducto = c.idProducto AND p.idCambio > c.idCambio)")
+    int deleteReemplazadosAntesDe(@Param("limite") LocalDateTime limite);
+
+    @Modifying
+    @Query("DELETE FROM ProductoCambio c WHERE c.tipoCambio = :tipoCambio AND c.fechaCambio < :limite")
+    int deleteByTipoCambioAntesDe(@Param("tipoCambio") String tipoCambio, @Param("limite") LocalDateTime limite);
+}
\ No newline at end of file
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.banquito.sistema.originacion.dto.ConteoEstadoDTO;
 import com.banquito.sistema.originacion.model.Producto;
 
 @Repository
@@ -25,4 +26,14 @@ public interface ProductoRepository extends JpaRepository<Producto, Long> {
     
     @Query("SELECT p FROM Producto p WHERE p.stockActual = 0")
     List<Producto> findProductosAgotados();
+
+    boolean existsByIdCategoria(Long idCategoria);
+
+    @Query("SELECT new com.banquito.sistema.originacion.dto.ConteoEstadoDTO(p.idCategoria, p.estadoProducto, COUNT(p), SUM(p.stockActual)) "
+            + "FROM Producto p WHERE p.idCategoria = :idCategoria GROUP BY p.idCategoria, p.estadoProducto")
+    List<ConteoEstadoDTO> countByCategoriaAgrupadoPorEstado(@Param("idCategoria") Long idCategoria);
+
+    @Query("SELECT new com.banquito.sistema.originacion.dto.ConteoEstadoDTO(p.idCategoria, p.estadoProducto, COUNT(p), SUM(p.stockActual)) "
+            + "FROM Producto p GROUP BY p.idCategoria, p.estadoProducto")
+    List<ConteoEstadoDTO> countAgrupadoPorCategoriaYEstado();
 } 
\ No newline at end of file
@@ -1,24 +1,32 @@
 package com.banquito.sistema.originacion.service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.banquito.sistema.originacion.exception.DuplicateException;
-import com.banquito.sistema.originacion.exception.NotFoundException;
+import com.banquito.sistema.originacion.dto.ConteoEstadoDTO;
+import com.banquito.sistema.originacion.dto.ResumenCategoriaDTO;
 import com.banquito.sistema.originacion.model.CategoriaProducto;
 import com.banquito.sistema.originacion.repository.CategoriaProductoRepository;
+import com.banquito.sistema.originacion.repository.ProductoRepository;
 
 @Service
 @Transactional
 public class CategoriaProductoService {
 
+    private static final String CATEGORIA = "CategoriaProducto";
+
     private final CategoriaProductoRepository repository;
+    private final ProductoRepository productoRepository;
 
-    public CategoriaProductoService(CategoriaProductoRepository repository) {
+    public CategoriaProductoService(CategoriaProductoRepository repository, ProductoRepository productoRepository) {
         this.repository = repository;
+        this.productoRepository = productoRepository;
     }
 
     @Transactional(readOnly = true)
@@ -27,21 +35,26 @@ public class CategoriaProductoService {
     }
 
     @Transactional(readOnly = true)
-    public CategoriaProducto findById(Long id) {
+    public Resultado<CategoriaProducto> findById(Long id) {
         Optional<CategoriaProducto> categoria = this.repository.findById(id);
         if (categoria.isEmpty()) {
-            throw new NotFoundException(id.toString(), "CategoriaProducto");
+            return Resultado.noEncontrado(CATEGORIA, id);
         }
-        return categoria.get();
+        return Resultado.ok(categoria.get());
+    }
+
+    @Transactional(readOnly = true)
+    public boolean existsById(Long id) {
+        return this.repository.existsById(id);
     }
 
     @Transactional(readOnly = true)
-    public CategoriaProducto findByNombre(String nombreCategoria) {
+    public Resultado<CategoriaProducto> findByNombre(String nombreCategoria) {
         Optional<CategoriaProducto> categoria = this.repository.findByNombreCategoria(nombreCategoria);
         if (categoria.isEmpty()) {
-            throw new NotFoundException(nombreCategoria, "CategoriaProducto");
+            return Resultado.noEncontrado(CATEGORIA, nombreCategoria);
         }
-        return categoria.get();
+        return Resultado.ok(categoria.get());
     }
 
     @Transactional(readOnly = true)
@@ -49,36 +62,69 @@ public class CategoriaProductoService {
         return this.repository.findByNombreCategoriaContainingIgnoreCase(nombreCategoria);
     }
 
-    public CategoriaProducto create(CategoriaProducto categoriaProducto) {
-        this.validateForCreate(categoriaProducto);
-        return this.repository.save(categoriaProducto);
-    }
-
-    public CategoriaProducto update(Long id, CategoriaProducto categoriaProducto) {
-        CategoriaProducto existingCategoria = this.findById(id);
-        this.validateForUpdate(categoriaProducto, existingCategoria);
-        
-        categoriaProducto.setIdCategoria(id);
-        categoriaProducto.setVersion(existingCategoria.getVersion());
-        
-        return this.repository.save(categoriaProducto);
+    @Transactional(readOnly = true)
+    public Resultado<ResumenCategoriaDTO> findResumen(Long id) {
+        Optional<CategoriaProducto> encontrada = this.repository.findById(id);
+        if (encontrada.isEmpty()) {
+            return Resultado.noEncontrado(CATEGORIA, id);
+        }
+        CategoriaProducto categoria = encontrada.get();
+        ResumenCategoriaDTO resumen = new ResumenCategoriaDTO(categoria.getIdCategoria(), categoria.getNombreCategoria());
+        for (ConteoEstadoDTO conteo : this.productoRepository.countByCategoriaAgrupadoPorEstado(id)) {
+            resumen.agregar(conteo);
+        }
+        return Resultado.ok(resumen);
     }
 
-    public void delete(Long id) {
-        CategoriaProducto categoria = this.findById(id);
-        this.repository.delete(categoria);
+    @Transactional(readOnly = true)
+    public List<ResumenCategoriaDTO> findResumenes() {
+        Map<Long, ResumenCategoriaDTO> resumenes = new LinkedHashMap<>();
+        for (CategoriaProducto categoria : this.repository.findAll()) {
+            resumenes.put(categoria.getIdCategoria(),
+                    new ResumenCategoriaDTO(categoria.getIdCategoria(), categoria.getNombreCategoria()));
+        }
+        for (ConteoEstadoDTO conteo : this.productoRepository.countAgrupadoPorCategoriaYEstado()) {
+            ResumenCategoriaDTO resumen = resumenes.get(conteo.getIdCategoria());
+            if (resumen != null) {
+                resumen.agregar(conteo);
+            }
+        }
+        return new ArrayList<>(resumenes.values());
     }
 
-    private void validateForCreate(CategoriaProducto categoriaProducto) {
+    public Resultado<CategoriaProducto> create(CategoriaProducto categoriaProducto) {
         if (this.repository.existsByNombreCategoria(categoriaProducto.getNombreCategoria())) {
-            throw new DuplicateException(categoriaProducto.getNombreCategoria(), "CategoriaProducto con nombre");
+            return Resultado.duplicado(CATEGORIA, categoriaProducto.getNombreCategoria());
         }
+        return Resultado.ok(this.repository.save(categoriaProducto));
     }
 
-    private void validateForUpdate(CategoriaProducto categoriaProducto, CategoriaProducto existing) {
-        if (!categoriaProducto.getNombreCategoria().equals(existing.getNombreCategoria()) && 
+    public Resultado<CategoriaProducto> update(Long id, CategoriaProducto categoriaProducto) {
+        Optional<CategoriaProducto> encontrada = this.repository.findById(id);
+        if (encontrada.isEmpty()) {
+            return Resultado.noEncontrado(CATEGORIA, id);
+        }
+        CategoriaProducto existingCategoria = encontrada.get();
+        if (!categoriaProducto.getNombreCategoria().equals(existingCategoria.getNombreCategoria()) && 
             this.repository.existsByNombreCategoria(categoriaProducto.getNombreCategoria())) {
-            throw new DuplicateException(categoriaProducto.getNombreCategoria(), "CategoriaProducto con nombre");
+            return Resultado.duplicado(CATEGORIA, categoriaProducto.getNombreCategoria());
+        }
+        
+        categoriaProducto.setIdCategoria(id);
+        categoriaProducto.setVersion(existingCategoria.getVersion());
+        
+        return Resultado.ok(this.repository.save(categoriaProducto));
+    }
+
+    public Resultado<Void> delete(Long id) {
+        Optional<CategoriaProducto> categoria = this.repository.findById(id);
+        if (categoria.isEmpty()) {
+            return Resultado.noEncontrado(CATEGORIA, id);
+        }
+        if (this.productoRepository.existsByIdCategoria(id)) {
+            return Resultado.enUso(CATEGORIA, id, "Producto");
         }
+        this.repository.delete(categoria.get());
+        return Resultado.ok(null);
     }
 } 
\ No newline at end of file
@@ -2,27 +2,48 @@ package com.banquito.sistema.originacion.service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.banquito.sistema.originacion.exception.InvalidStateException;
-import com.banquito.sistema.originacion.exception.NotFoundException;
+import com.banquito.sistema.originacion.config.ChangeFeedProperties;
+
+import com.banquito.sistema.originacion.dto.CambiosProductoDTO;
+import com.banquito.sistema.originacion.exception.ErrorType;
 import com.banquito.sistema.originacion.model.Producto;
+import com.banquito.sistema.originacion.model.ProductoCambio;
+import com.banquito.sistema.originacion.repository.ProductoCambioRepository;
 import com.banquito.sistema.originacion.repository.ProductoRepository;
 
 @Service
 @Transactional
 public class ProductoService {
 
+    private static final String PRODUCTO = "Producto";
+    private static final int LIMITE_MAXIMO_CAMBIOS = 1000;
+    private static final String CAMBIO_CREADO = "CREADO";
+    private static final String CAMBIO_ACTUALIZADO = "ACTUALIZADO";
+    private static final String CAMBIO_ELIMINADO = "ELIMINADO";
+
     private final ProductoRepository repository;
+    private final ProductoCambioRepository cambioRepository;
     private final CategoriaProductoService categoriaProductoService;
+    private final ChangeFeedProperties changeFeedProperties;
 
-    public ProductoService(ProductoRepository repository, CategoriaProductoService categoriaProductoService) {
+    public ProductoService(ProductoRepository repository, ProductoCambioRepository cambioRepository,
+            CategoriaProductoService categoriaProductoService, ChangeFeedProperties changeFeedProperties) {
         this.repository = repository;
+        this.cambioRepository = cambioRepository;
         this.categoriaProductoService = categoriaProductoService;
+        this.changeFeedProperties = changeFeedProperties;
     }
 
     @Transactional(readOnly = true)
@@ -31,12 +52,12 @@ public class ProductoService {
     }
 
     @Transactional(readOnly = true)
-    public Producto findById(Long id) {
+    public Resultado<Producto> findById(Long id) {
         Optional<Producto> producto = this.repository.findById(id);
         if (producto.isEmpty()) {
-            throw new NotFoundException(id.toString(), "Producto");
+            return Resultado.noEncontrado(PRODUCTO, id);
         }
-        return producto.get();
+        return Resultado.ok(producto.get());
     }
 
     @Transactional(readOnly = true)
@@ -69,11 +90,79 @@ public class ProductoService {
         return this.repository.findProductosAgotados();
     }
 
-    public Producto create(Producto producto) {
-        this.validateForCreate(producto);
+    @Transactional(readOnly = true)
+    public CambiosProductoDTO findCambios(Long desde, Integer limite) {
+        Long cursor = desde == null ? 0L : desde;
+        int tamanio = (limite == null || limite <= 0 || limite > LIMITE_MAXIMO_CAMBIOS) ? LIMITE_MAXIMO_CAMBIOS : limite;
+
+        // Se pide un registro extra solo para saber si quedan cambios pendientes
+        List<ProductoCambio> leidos = this.cambioRepository
+                .findByIdCambioGreaterThanOrderByIdCambioAsc(cursor, Limit.of(tamanio + 1));
+        boolean hayMas = leidos.size() > tamanio;
+
+        // Los identificadores se asignan al insertar pero se hacen visibles al confirmar: un hueco
+        // puede ser una transacción en curso que aparecerá detrás del cursor. El cursor no avanza
+        // sobre un hueco reciente; si el cambio siguiente ya está asentado, el hueco es un
+        // rollback o una compactación y se salta
+        LocalDateTime asentado = LocalDateTime.now().minus(this.changeFeedProperties.getSettleWindow());
+        List<ProductoCambio> cambios = new ArrayList<>();
+        long anterior = cursor;
+        for (ProductoCambio cambio : leidos.subList(0, Math.min(leidos.size(), tamanio))) {
+            if (cambio.getIdCambio() != anterior + 1 && cambio.getFechaCambio().isAfter(asentado)) {
+                hayMas = false;
+                break;
+            }
+            cambios.add(cambio);
+            anterior = cambio.getIdCambio();
+        }
+        if (cambios.isEmpty()) {
+            return new CambiosProductoDTO(cursor, false, List.of(), List.of());
+        }
+
+        // Solo interesa el último cambio de cada producto dentro de la ventana
+        Map<Long, String> ultimoCambio = new LinkedHashMap<>();
+        for (ProductoCambio cambio : cambios) {
+            ultimoCambio.remove(cambio.getIdProducto());
+            ultimoCambio.put(cambio.getIdProducto(), cambio.getTipoCambio());
+        }
+
+        List<Long> idsVigentes = new ArrayList<>();
+        for (Map.Entry<Long, String> entry : ultimoCambio.entrySet()) {
+            if (!CAMBIO_ELIMINADO.equals(entry.getValue())) {
+                idsVigentes.add(entry.getKey());
+            }
+        }
+        Map<Long, Producto> vigentes = new LinkedHashMap<>();
+        for (Producto producto : this.repository.findAllById(idsVigentes)) {
+            vigentes.put(producto.getIdProducto(), producto);
+        }
+
+        List<Producto> productos = new ArrayList<>();
+        List<Long> eliminados = new ArrayList<>();
+        for (Long idProducto : ultimoCambio.keySet()) {
+            Producto producto = vigentes.get(idProducto);
+            // Un producto ausente fue eliminado después del cambio leído
+            if (producto == null) {
+                eliminados.add(idProducto);
+            } else {
+                productos.add(producto);
+            }
+        }
+
+        Long nuevoCursor = cambios.get(cambios.size() - 1).getIdCambio();
+        return new CambiosProductoDTO(nuevoCursor, hayMas, productos, eliminados);
+    }
+
+    public Resultado<Producto> create(Producto producto) {
+        if (producto.getIdCategoria() == null) {
+            return Resultado.error(ErrorType.INVALID_REQUEST, "La categoría del producto es obligatoria");
+        }
         
         // Validar que la categoría existe
-        this.categoriaProductoService.findById(producto.getIdCategoria());
+        if (!this.categoriaProductoService.existsById(producto.getIdCategoria())) {
+            return Resultado.error(ErrorType.INVALID_REQUEST,
+                    "La categoría del producto no existe: " + producto.getIdCategoria());
+        }
         
         // Establecer estado inicial
         if (producto.getEstadoProducto() == null || producto.getEstadoProducto().trim().isEmpty()) {
@@ -85,28 +174,41 @@ public class ProductoService {
             producto.setEstadoProducto("AGOTADO");
         }
         
-        return this.repository.save(producto);
+        Producto savedProducto = this.repository.save(producto);
+        this.registrarCambio(savedProducto.getIdProducto(), CAMBIO_CREADO);
+        return Resultado.ok(savedProducto);
     }
 
-    public Producto changeState(Long id, String newState, String motivo) {
-        Producto producto = this.findById(id);
+    public Resultado<Producto> changeState(Long id, String newState, String motivo) {
+        Optional<Producto> encontrado = this.repository.findById(id);
+        if (encontrado.isEmpty()) {
+            return Resultado.noEncontrado(PRODUCTO, id);
+        }
+        Producto producto = encontrado.get();
         String oldState = producto.getEstadoProducto();
         
-        this.validateStateChange(oldState, newState);
+        if (!this.isValidStateChange(oldState, newState)) {
+            return Resultado.estadoInvalido(PRODUCTO, oldState, newState);
+        }
         
         producto.setEstadoProducto(newState);
-        return this.repository.save(producto);
+        this.registrarCambio(id, CAMBIO_ACTUALIZADO);
+        return Resultado.ok(this.repository.save(producto));
     }
 
-    public Producto aumentarStock(Long id, Integer cantidad, BigDecimal precioCompra) {
+    public Resultado<Producto> aumentarStock(Long id, Integer cantidad, BigDecimal precioCompra) {
         if (cantidad == null || cantidad <= 0) {
-            throw new IllegalArgumentException("La cantidad debe ser mayor a 0");
+            return Resultado.error(ErrorType.INVALID_REQUEST, "La cantidad debe ser mayor a 0");
         }
         if (precioCompra == null || precioCompra.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException("El precio de compra debe ser mayor a 0");
+            return Resultado.error(ErrorType.INVALID_REQUEST, "El precio de compra debe ser mayor a 0");
         }
         
-        Producto producto = this.findById(id);
+        Optional<Producto> encontrado = this.repository.findById(id);
+        if (encontrado.isEmpty()) {
+            return Resultado.noEncontrado(PRODUCTO, id);
+        }
+        Producto producto = encontrado.get();
         
         // Aumentar stock
         Integer nuevoStock = producto.getStockActual() + cantidad;
@@ -123,22 +225,25 @@ public class ProductoService {
         // Cambiar estado a ACTIVO
         producto.setEstadoProducto("ACTIVO");
         
-        return this.repository.save(producto);
+        this.registrarCambio(id, CAMBIO_ACTUALIZADO);
+        return Resultado.ok(this.repository.save(producto));
     }
 
-    public Producto disminuirStock(Long id, Integer cantidad) {
+    public Resultado<Producto> disminuirStock(Long id, Integer cantidad) {
         if (cantidad == null || cantidad <= 0) {
-            throw new IllegalArgumentException("La cantidad debe ser mayor a 0");
+            return Resultado.error(ErrorType.INVALID_REQUEST, "La cantidad debe ser mayor a 0");
         }
         
-        Producto producto = this.findById(id);
+        Optional<Producto> encontrado = this.repository.findById(id);
+        if (encontrado.isEmpty()) {
+            return Resultado.noEncontrado(PRODUCTO, id);
+        }
+        Producto producto = encontrado.get();
         
         // Validar que hay suficiente stock
         if (producto.getStockActual() < cantidad) {
-            throw new IllegalArgumentException(
-                String.format("Stock insuficiente. Stock actual: %d, cantidad solicitada: %d", 
-                             producto.getStockActual(), cantidad)
-            );
+            return Resultado.error(ErrorType.INSUFFICIENT_STOCK, "Stock insuficiente. Stock actual: "
+                    + producto.getStockActual() + ", cantidad solicitada: " + cantidad);
         }
         
         // Disminuir stock
@@ -150,44 +255,49 @@ public class ProductoService {
             producto.setEstadoProducto("AGOTADO");
         }
         
-        return this.repository.save(producto);
+        this.registrarCambio(id, CAMBIO_ACTUALIZADO);
+        return Resultado.ok(this.repository.save(producto));
     }
 
-    public void delete(Long id) {
-        Producto producto = this.findById(id);
-        this.repository.delete(producto);
+    public Resultado<Void> delete(Long id) {
+        Optional<Producto> producto = this.repository.findById(id);
+        if (producto.isEmpty()) {
+            return Resultado.noEncontrado(PRODUCTO, id);
+        }
+        this.repository.delete(producto.get());
+        this.registrarCambio(id, CAMBIO_ELIMINADO);
+        return Resultado.ok(null);
     }
 
-    private void validateForCreate(Producto producto) {
-        if (producto.getIdCategoria() == null) {
-            throw new IllegalArgumentException("La categoría del producto es obligatoria");
-        }
+    // Solo el último cambio de cada producto es necesario para un cursor: los anteriores se
+    // compactan, y las eliminaciones se conservan hasta la antigüedad máxima de un cursor
+    @Scheduled(fixedDelayString = "${originacion.cambios.compaction-interval:PT10M}")
+    public void compactarCambios() {
+        LocalDateTime ahora = LocalDateTime.now();
+        this.cambioRepository.deleteReemplazadosAntesDe(ahora.minus(this.changeFeedProperties.getCompactAfter()));
+        this.cambioRepository.deleteByTipoCambioAntesDe(CAMBIO_ELIMINADO,
+                ahora.minus(this.changeFeedProperties.getTombstoneRetention()));
+    }
+
+    private void registrarCambio(Long idProducto, String tipoCambio) {
+        this.cambioRepository.save(new ProductoCambio(idProducto, tipoCambio));
     }
 
-    private void validateStateChange(String currentState, String newState) {
+    private boolean isValidStateChange(String currentState, String newState) {
         if (currentState.equals(newState)) {
-            return;
+            return true;
         }
         
         // Validaciones de transiciones de estado
         switch (currentState) {
             case "ACTIVO":
-                if (!newState.equals("INACTIVO") && !newState.equals("AGOTADO")) {
-                    throw new InvalidStateException(currentState, newState, "Producto");
-                }
-                break;
+                return newState.equals("INACTIVO") || newState.equals("AGOTADO");
             case "INACTIVO":
-                if (!newState.equals("ACTIVO")) {
-                    throw new InvalidStateException(currentState, newState, "Producto");
-                }
-                break;
+                return newState.equals("ACTIVO");
             case "AGOTADO":
-                if (!newState.equals("ACTIVO") && !newState.equals("INACTIVO")) {
-                    throw new InvalidStateException(currentState, newState, "Producto");
-                }
-                break;
+                return newState.equals("ACTIVO") || newState.equals("INACTIVO");
             default:
-                throw new InvalidStateException(currentState, newState, "Producto");
+                return false;
         }
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
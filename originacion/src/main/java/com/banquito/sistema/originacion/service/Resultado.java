@@ -0,0 +1,50 @@
+package com.banquito.sistema.originacion.service;
+
+import com.banquito.sistema.originacion.exception.ErrorType;
+
+import lombok.*;
+
+@Getter
+@ToString
+public final class Resultado<T> {
+
+    private final T valor;
+    private final ErrorType errorType;
+    private final String mensaje;
+
+    private Resultado(T valor, ErrorType errorType, String mensaje) {
+        this.valor = valor;
+        this.errorType = errorType;
+        this.mensaje = mensaje;
+    }
+
+    public static <T> Resultado<T> ok(T valor) {
+        return new Resultado<>(valor, null, null);
+    }
+
+    public static <T> Resultado<T> error(ErrorType errorType, String mensaje) {
+        return new Resultado<>(null, errorType, mensaje);
+    }
+
+    public static <T> Resultado<T> noEncontrado(String entidad, Object dato) {
+        return error(ErrorType.NOT_FOUND, "No se encontró ninguna coincidencia para: " + entidad + ", con el dato: " + dato);
+    }
+
+    public static <T> Resultado<T> duplicado(String entidad, Object dato) {
+        return error(ErrorType.DUPLICATE, "Ya existe un registro para: " + entidad + ", con el dato: " + dato);
+    }
+
+    public static <T> Resultado<T> enUso(String entidad, Object dato, String dependiente) {
+        return error(ErrorType.IN_USE, "No se puede eliminar: " + entidad + ", con el dato: " + dato
+                + ", porque tiene registros asociados de: " + dependiente);
+    }
+
+    public static <T> Resultado<T> estadoInvalido(String entidad, String estadoActual, String estadoDestino) {
+        return error(ErrorType.INVALID_STATE,
+                "No se puede cambiar el estado de " + entidad + " de " + estadoActual + " a " + estadoDestino);
+    }
+
+    public boolean isOk() {
+        return this.errorType == null;
+    }
+}
\ No newline at end of file
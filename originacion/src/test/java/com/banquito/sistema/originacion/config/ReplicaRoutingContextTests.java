@@ -0,0 +1,101 @@
+package com.banquito.sistema.originacion.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.banquito.sistema.originacion.model.CategoriaProducto;
+import com.banquito.sistema.originacion.service.CategoriaProductoService;
+import com.zaxxer.hikari.HikariDataSource;
+
+// Contexto completo con dos nodos H2: las lecturas pasan por JpaTransactionManager y
+// LazyConnectionDataSourceProxy antes de llegar al enrutador
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:primario_enrutado;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"originacion.datasource.routing.enabled=true",
+		"originacion.datasource.routing.replicas[0].url=" + ReplicaRoutingContextTests.REPLICA_URL,
+		"originacion.datasource.routing.lag-query=SELECT 0",
+		"originacion.datasource.routing.health-check-interval=PT0.1S" })
+class ReplicaRoutingContextTests {
+
+	static final String REPLICA_URL = "jdbc:h2:mem:replica_enrutada;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+	private static final String SOLO_EN_REPLICA = "Solo en la replica";
+
+	@Autowired
+	private CategoriaProductoService categoriaService;
+
+	@Autowired
+	private ReplicaRoutingDataSource routingDataSource;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@BeforeAll
+	static void crearReplica() throws SQLException {
+		JdbcDataSource replica = new JdbcDataSource();
+		replica.setURL(REPLICA_URL);
+		replica.setUser("sa");
+		try (Connection connection = replica.getConnection();
+				Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE IF NOT EXISTS categoria_producto (id_categoria BIGINT PRIMARY KEY, "
+					+ "nombre_categoria VARCHAR(100), descripcion VARCHAR(1000), version BIGINT)");
+			statement.execute("DELETE FROM categoria_producto");
+			statement.execute("INSERT INTO categoria_producto VALUES (1, '" + SOLO_EN_REPLICA + "', NULL, 0)");
+		}
+	}
+
+	@AfterEach
+	void tearDown() {
+		RoutingContext.clear();
+	}
+
+	@Test
+	void readOnlyServiceCallReachesReplica() throws InterruptedException {
+		this.esperarReplicaSana();
+		String nombre = "Solo en el primario " + System.nanoTime();
+		CategoriaProducto categoria = new CategoriaProducto();
+		categoria.setNombreCategoria(nombre);
+		assertTrue(this.categoriaService.create(categoria).isOk());
+
+		List<String> enReplica = nombres(this.categoriaService.findAll());
+		assertTrue(enReplica.contains(SOLO_EN_REPLICA));
+		assertFalse(enReplica.contains(nombre));
+
+		RoutingContext.requirePrimary();
+		List<String> enPrimario = nombres(this.categoriaService.findAll());
+		assertTrue(enPrimario.contains(nombre));
+		assertFalse(enPrimario.contains(SOLO_EN_REPLICA));
+	}
+
+	@Test
+	void primaryPoolBindsHikariProperties() throws SQLException {
+		assertEquals(20, this.dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize());
+	}
+
+	private void esperarReplicaSana() throws InterruptedException {
+		long limite = System.nanoTime() + 5_000_000_000L;
+		while (this.routingDataSource.getHealthyReplicas().isEmpty() && System.nanoTime() < limite) {
+			Thread.sleep(50);
+		}
+		assertEquals(List.of("replica-0"), this.routingDataSource.getHealthyReplicas());
+	}
+
+	private static List<String> nombres(List<CategoriaProducto> categorias) {
+		return categorias.stream().map(CategoriaProducto::getNombreCategoria).toList();
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,167 @@
+package com.banquito.sistema.originacion.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ReplicaRoutingDataSourceTests {
+
+	private ReplicaRoutingDataSource routingDataSource;
+	private RoutingDataSourceProperties properties;
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		Map<String, DataSource> replicas = Map.of("replica-0", node("replica"));
+		this.routingDataSource = new ReplicaRoutingDataSource(node("primary"), replicas);
+		this.routingDataSource.afterPropertiesSet();
+
+		this.properties = new RoutingDataSourceProperties();
+		this.properties.setMaxLag(Duration.ofSeconds(1));
+	}
+
+	@AfterEach
+	void tearDown() {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		RoutingContext.clear();
+	}
+
+	@Test
+	void writesGoToPrimary() throws SQLException {
+		this.routingDataSource.setHealthyReplicas(List.of("replica-0"));
+
+		assertEquals("primary", currentNode());
+	}
+
+	@Test
+	void readOnlyTransactionsGoToHealthyReplica() throws SQLException {
+		this.routingDataSource.setHealthyReplicas(List.of("replica-0"));
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		assertEquals("replica", currentNode());
+	}
+
+	@Test
+	void readOnlyTransactionsFallBackToPrimaryWithoutHealthyReplicas() throws SQLException {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		assertEquals("primary", currentNode());
+	}
+
+	@Test
+	void readYourWritesForcesPrimary() throws SQLException {
+		this.routingDataSource.setHealthyReplicas(List.of("replica-0"));
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		RoutingContext.requirePrimary();
+
+		assertEquals("primary", currentNode());
+	}
+
+	@Test
+	void healthCheckAddsReplicaWithinLagTolerance() {
+		this.properties.setLagQuery("SELECT 0.5");
+		new ReplicaHealthChecker(this.routingDataSource, this.properties).check();
+
+		assertEquals(List.of("replica-0"), this.routingDataSource.getHealthyReplicas());
+	}
+
+	@Test
+	void healthCheckRemovesLaggingReplica() {
+		this.routingDataSource.setHealthyReplicas(List.of("replica-0"));
+		this.properties.setLagQuery("SELECT 30");
+		new ReplicaHealthChecker(this.routingDataSource, this.properties).check();
+
+		assertEquals(List.of(), this.routingDataSource.getHealthyReplicas());
+	}
+
+	@Test
+	void healthCheckRemovesUnreachableReplica() throws SQLException {
+		JdbcDataSource caida = new JdbcDataSource();
+		caida.setURL("jdbc:h2:mem:caida;IFEXISTS=TRUE");
+		ReplicaRoutingDataSource conReplicaCaida = new ReplicaRoutingDataSource(node("primary"), Map.of("replica-0", caida));
+		conReplicaCaida.afterPropertiesSet();
+		conReplicaCaida.setHealthyReplicas(List.of("replica-0"));
+		this.properties.setLagQuery("SELECT 0");
+
+		new ReplicaHealthChecker(conReplicaCaida, this.properties).check();
+
+		assertEquals(List.of(), conReplicaCaida.getHealthyReplicas());
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		assertEquals("primary", currentNode(conReplicaCaida));
+	}
+
+	@Test
+	void readYourWritesWindowMustCoverLagAndHealthCheck() {
+		this.properties.setMaxLag(Duration.ofSeconds(5));
+		this.properties.setHealthCheckInterval(Duration.ofSeconds(2));
+		this.properties.setReadYourWritesWindow(Duration.ofSeconds(5));
+
+		assertThrows(IllegalStateException.class, this.properties::validateReadYourWritesWindow);
+		new RoutingDataSourceProperties().validateReadYourWritesWindow();
+	}
+
+	@Test
+	void readYourWritesKeysOnClientBehindTrustedProxy() throws Exception {
+		this.properties.setTrustedProxies(Set.of("10.0.0.1"));
+		ReadYourWritesFilter filter = new ReadYourWritesFilter(this.properties);
+
+		assertFalse(this.send(filter, "POST", "198.51.100.1"));
+		assertFalse(this.send(filter, "GET", "198.51.100.2"));
+		assertTrue(this.send(filter, "GET", "198.51.100.1"));
+	}
+
+	private boolean send(ReadYourWritesFilter filter, String method, String forwardedFor) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/productos");
+		request.setRemoteAddr("10.0.0.1");
+		request.addHeader(ClientIdentifier.FORWARDED_FOR, forwardedFor);
+		boolean[] primario = new boolean[1];
+		filter.doFilter(request, new MockHttpServletResponse(),
+				(req, res) -> primario[0] = RoutingContext.isPrimaryRequired());
+		return primario[0];
+	}
+
+	private String currentNode() throws SQLException {
+		return currentNode(this.routingDataSource);
+	}
+
+	private static String currentNode(DataSource dataSource) throws SQLException {
+		try (Connection connection = dataSource.getConnection();
+				Statement statement = connection.createStatement();
+				ResultSet resultSet = statement.executeQuery("SELECT nombre FROM nodo")) {
+			resultSet.next();
+			return resultSet.getString(1);
+		}
+	}
+
+	private static DataSource node(String name) throws SQLException {
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+		try (Connection connection = dataSource.getConnection();
+				Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE IF NOT EXISTS nodo (nombre VARCHAR(20))");
+			statement.execute("DELETE FROM nodo");
+			statement.execute("INSERT INTO nodo VALUES ('" + name + "')");
+		}
+		return dataSource;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.banquito.sistema.originacion.controller;
+
+import static org.hamcrest.Matchers.anEmptyMap;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.banquito.sistema.originacion.model.CategoriaProducto;
+import com.banquito.sistema.originacion.repository.CategoriaProductoRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CategoriaProductoControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private CategoriaProductoRepository categoriaRepository;
+
+	@Test
+	void resumenListsEmptyCategoryWithZeros() throws Exception {
+		CategoriaProducto categoria = new CategoriaProducto();
+		categoria.setNombreCategoria("Categoria sin productos " + System.nanoTime());
+		Long idCategoria = this.categoriaRepository.save(categoria).getIdCategoria();
+		String resumen = "$[?(@.idCategoria == " + idCategoria + ")]";
+
+		this.mockMvc.perform(get("/api/categorias-producto/resumen"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath(resumen + ".totalProductos").value(0))
+				.andExpect(jsonPath(resumen + ".stockTotal").value(0))
+				.andExpect(jsonPath(resumen + ".productosPorEstado").value(contains(anEmptyMap())));
+	}
+
+	@Test
+	void resumenOfMissingCategoryIsNotFound() throws Exception {
+		this.mockMvc.perform(get("/api/categorias-producto/{id}/resumen", -1))
+				.andExpect(status().isNotFound())
+				.andExpect(jsonPath("$.tipo").value("NOT_FOUND"));
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.banquito.sistema.originacion.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.banquito.sistema.originacion.model.CategoriaProducto;
+import com.banquito.sistema.originacion.model.Producto;
+import com.banquito.sistema.originacion.repository.CategoriaProductoRepository;
+import com.banquito.sistema.originacion.repository.ProductoRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductoControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private CategoriaProductoRepository categoriaRepository;
+
+	@Autowired
+	private ProductoRepository productoRepository;
+
+	private Long idProducto;
+
+	@BeforeEach
+	void seed() {
+		CategoriaProducto categoria = new CategoriaProducto();
+		categoria.setNombreCategoria("Categoria controlador " + System.nanoTime());
+		Long idCategoria = this.categoriaRepository.save(categoria).getIdCategoria();
+
+		Producto producto = new Producto();
+		producto.setNombreProducto("Producto controlador");
+		producto.setPrecioVenta(new BigDecimal("12.50"));
+		producto.setStockActual(3);
+		producto.setIdCategoria(idCategoria);
+		this.idProducto = this.productoRepository.save(producto).getIdProducto();
+	}
+
+	@Test
+	void nonNumericPurchasePriceIsInvalidRequest() throws Exception {
+		for (String precio : new String[] { "\"abc\"", "true" }) {
+			this.mockMvc.perform(patch("/api/productos/{id}/aumentar-stock", this.idProducto)
+							.contentType(MediaType.APPLICATION_JSON)
+							.content("{\"cantidad\":5,\"precioCompra\":" + precio + "}"))
+					.andExpect(status().isBadRequest())
+					.andExpect(jsonPath("$.tipo").value("INVALID_REQUEST"));
+		}
+	}
+
+	@Test
+	void insufficientStockIsConflict() throws Exception {
+		this.mockMvc.perform(patch("/api/productos/{id}/disminuir-stock", this.idProducto)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"cantidad\":4}"))
+				.andExpect(status().isConflict())
+				.andExpect(jsonPath("$.tipo").value("INSUFFICIENT_STOCK"));
+	}
+
+	@Test
+	void missingCategoryInBodyIsInvalidRequest() throws Exception {
+		this.mockMvc.perform(post("/api/productos")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"nombreProducto\":\"Sin categoria\",\"precioVenta\":10,\"stockActual\":1,\"idCategoria\":-1}"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.tipo").value("INVALID_REQUEST"));
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.banquito.sistema.originacion.exception;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.banquito.sistema.originacion.model.CategoriaProducto;
+import com.banquito.sistema.originacion.repository.CategoriaProductoRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class GlobalExceptionHandlerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	@Autowired
+	private GlobalExceptionHandler handler;
+
+	@Autowired
+	private CategoriaProductoRepository categoriaRepository;
+
+	@Test
+	void pathVariableTypeMismatchIsInvalidRequest() throws Exception {
+		this.mockMvc.perform(get("/api/productos/abc"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.tipo").value("INVALID_REQUEST"));
+	}
+
+	@Test
+	void queryParameterTypeMismatchIsInvalidRequest() throws Exception {
+		this.mockMvc.perform(get("/api/productos").param("categoriaId", "x"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.tipo").value("INVALID_REQUEST"));
+	}
+
+	@Test
+	void malformedBodyIsInvalidRequest() throws Exception {
+		this.mockMvc.perform(patch("/api/productos/1/disminuir-stock")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"cantidad\":\"muchos\"}"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.tipo").value("INVALID_REQUEST"));
+	}
+
+	@Test
+	void frameworkClientErrorsKeepStatusAndAreCounted() throws Exception {
+		double antes = this.count("method_not_allowed");
+
+		this.mockMvc.perform(delete("/api/productos"))
+				.andExpect(status().isMethodNotAllowed())
+				.andExpect(jsonPath("$.tipo").value("METHOD_NOT_ALLOWED"));
+		this.mockMvc.perform(post("/api/productos").contentType(MediaType.TEXT_PLAIN).content("x"))
+				.andExpect(status().isUnsupportedMediaType())
+				.andExpect(jsonPath("$.tipo").value("UNSUPPORTED_MEDIA_TYPE"));
+		this.mockMvc.perform(get("/api/inexistente"))
+				.andExpect(status().isNotFound())
+				.andExpect(jsonPath("$.tipo").value("NOT_FOUND"));
+
+		assertEquals(antes + 1, this.count("method_not_allowed"));
+	}
+
+	@Test
+	void uniqueViolationIsDuplicate() {
+		String nombre = "Categoria unica " + System.nanoTime();
+		this.categoriaRepository.saveAndFlush(this.categoria(nombre));
+		DataIntegrityViolationException e = assertThrows(DataIntegrityViolationException.class,
+				() -> this.categoriaRepository.saveAndFlush(this.categoria(nombre)));
+
+		assertEquals("DUPLICATE", this.handler.handleDataIntegrity(e).getBody().getTipo());
+	}
+
+	@Test
+	void foreignKeyAndOtherViolationsAreNotDuplicate() {
+		DataIntegrityViolationException foreignKey = new DataIntegrityViolationException("fk",
+				new SQLException("fk", "23503"));
+		DataIntegrityViolationException notNull = new DataIntegrityViolationException("not null",
+				new SQLException("not null", "23502"));
+
+		assertEquals("IN_USE", this.handler.handleDataIntegrity(foreignKey).getBody().getTipo());
+		assertEquals("DATA_INTEGRITY", this.handler.handleDataIntegrity(notNull).getBody().getTipo());
+	}
+
+	private CategoriaProducto categoria(String nombre) {
+		CategoriaProducto categoria = new CategoriaProducto();
+		categoria.setNombreCategoria(nombre);
+		return categoria;
+	}
+
+	private double count(String tipo) {
+		return this.registry.get("originacion.errores").tag("tipo", tipo).counter().count();
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.banquito.sistema.originacion.limiter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class BulkheadTests {
+
+	@Test
+	void rejectsWhenFullAndAdmitsAfterExit() {
+		Bulkhead bulkhead = new Bulkhead(2);
+
+		assertTrue(bulkhead.tryEnter());
+		assertTrue(bulkhead.tryEnter());
+		assertFalse(bulkhead.tryEnter());
+
+		bulkhead.exit();
+		assertTrue(bulkhead.tryEnter());
+		assertEquals(2, bulkhead.getInFlight());
+	}
+
+	@Test
+	void neverExceedsMaxConcurrentUnderContention() throws Exception {
+		int maxConcurrent = 4;
+		int hilos = 32;
+		Bulkhead bulkhead = new Bulkhead(maxConcurrent);
+		AtomicInteger dentro = new AtomicInteger();
+		AtomicInteger maximoObservado = new AtomicInteger();
+		CountDownLatch inicio = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(hilos);
+		try {
+			List<Future<?>> tareas = new ArrayList<>();
+			for (int i = 0; i < hilos; i++) {
+				tareas.add(executor.submit(() -> {
+					inicio.await();
+					for (int j = 0; j < 10_000; j++) {
+						if (bulkhead.tryEnter()) {
+							maximoObservado.accumulateAndGet(dentro.incrementAndGet(), Math::max);
+							dentro.decrementAndGet();
+							bulkhead.exit();
+						}
+					}
+					return null;
+				}));
+			}
+			inicio.countDown();
+			for (Future<?> tarea : tareas) {
+				tarea.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertTrue(maximoObservado.get() <= maxConcurrent);
+		assertEquals(0, bulkhead.getInFlight());
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.banquito.sistema.originacion.limiter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class EndpointClassTests {
+
+	@ParameterizedTest
+	@CsvSource({
+			"GET, /api/productos/5, , READ",
+			"GET, /api/productos, categoriaId=3, READ",
+			"GET, /api/productos/cambios, desde=10, READ",
+			"GET, /api/categorias-producto, , READ",
+			"GET, /api/categorias-producto/7, , READ",
+			"GET, /api/categorias-producto/nombre/Bebidas, , READ",
+			"GET, /api/productos, , SEARCH",
+			"GET, /api/productos, estado=ACTIVO, SEARCH",
+			"GET, /api/productos, nombre=cafe, SEARCH",
+			"GET, /api/productos, stockMinimo=5, SEARCH",
+			"GET, /api/productos, categoriaId=3&nombre=cafe, SEARCH",
+			"GET, /api/productos/agotados, , SEARCH",
+			"GET, /api/categorias-producto, nombre=beb, SEARCH",
+			"GET, /api/categorias-producto/resumen, , SEARCH",
+			"GET, /api/categorias-producto/7/resumen, , SEARCH",
+			"PATCH, /api/productos/5/disminuir-stock, , STOCK_WRITE",
+			"PATCH, /api/productos/5/aumentar-stock, , STOCK_WRITE",
+			"PATCH, /api/productos/5/estado, , ADMIN",
+			"POST, /api/productos, , ADMIN",
+			"DELETE, /api/productos/5, , ADMIN",
+			"POST, /api/categorias-producto, , ADMIN",
+			"PUT, /api/categorias-producto/7, , ADMIN",
+			"DELETE, /api/categorias-producto/7, , ADMIN"
+	})
+	void classifiesRoute(String method, String path, String query, EndpointClass expected) {
+		assertEquals(expected, EndpointClass.classify(request(method, path, query)));
+	}
+
+	@ParameterizedTest
+	@CsvSource({ "GET, /actuator/health", "GET, /actuator/metrics" })
+	void ignoresRoutesOutsideApi(String method, String path) {
+		assertNull(EndpointClass.classify(request(method, path, null)));
+	}
+
+	private static MockHttpServletRequest request(String method, String path, String query) {
+		MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+		if (query != null) {
+			for (String parametro : query.split("&")) {
+				String[] partes = parametro.split("=");
+				request.addParameter(partes[0], partes[1]);
+			}
+		}
+		return request;
+	}
+
+}
\ No newline at end of file
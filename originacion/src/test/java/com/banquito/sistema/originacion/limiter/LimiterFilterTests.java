@@ -0,0 +1,131 @@
+package com.banquito.sistema.originacion.limiter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.banquito.sistema.originacion.config.ClientIdentifier;
+import com.banquito.sistema.originacion.exception.ErrorResponses;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+
+class LimiterFilterTests {
+
+	private static final String PROXY = "10.0.0.1";
+
+	@Test
+	void clientIdHeaderDoesNotResetTheLimit() throws Exception {
+		LimiterFilter filter = filter(properties(2, 100_000), new SimpleMeterRegistry());
+
+		assertEquals(200, this.send(filter, "203.0.113.5", "cliente-1", null));
+		assertEquals(200, this.send(filter, "203.0.113.5", "cliente-2", null));
+		assertEquals(429, this.send(filter, "203.0.113.5", "cliente-3", null));
+	}
+
+	@Test
+	void forwardedForIgnoredFromUntrustedAddress() throws Exception {
+		LimiterFilter filter = filter(properties(1, 100_000), new SimpleMeterRegistry());
+
+		assertEquals(200, this.send(filter, "203.0.113.5", null, "198.51.100.1"));
+		assertEquals(429, this.send(filter, "203.0.113.5", null, "198.51.100.2"));
+	}
+
+	@Test
+	void forwardedForHonouredFromTrustedProxy() throws Exception {
+		LimiterFilter filter = filter(properties(1, 100_000), new SimpleMeterRegistry());
+
+		assertEquals(200, this.send(filter, PROXY, null, "198.51.100.1"));
+		assertEquals(200, this.send(filter, PROXY, null, "198.51.100.2"));
+		// El cliente no puede anteponer saltos: se toma el último que no es un proxy de confianza
+		assertEquals(429, this.send(filter, PROXY, null, "192.0.2.9, 198.51.100.1"));
+	}
+
+	@Test
+	void clientsBeyondCapShareOverflowBucket() throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		LimiterFilter filter = filter(properties(1, 1), registry);
+
+		assertEquals(200, this.send(filter, "198.51.100.1", null, null));
+		assertEquals(200, this.send(filter, "198.51.100.2", null, null));
+		assertEquals(429, this.send(filter, "198.51.100.3", null, null));
+		assertEquals(1, registry.get("originacion.limiter.clients").tag("clase", "read").gauge().value());
+	}
+
+	@Test
+	void rejectionUsesErrorFormatAndIsCounted() throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		LimiterFilter filter = filter(properties(1, 100_000), registry);
+		this.send(filter, "203.0.113.5", null, null);
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/productos/1");
+		request.setRemoteAddr("203.0.113.5");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+
+		assertEquals(429, response.getStatus());
+		assertEquals("RATE_LIMITED", new ObjectMapper().readTree(response.getContentAsByteArray()).get("tipo").asText());
+		assertEquals(1, registry.get("originacion.errores").tag("tipo", "rate_limited").counter().count());
+	}
+
+	@Test
+	void bulkheadRejectionDoesNotSpendToken() throws Exception {
+		LimiterProperties properties = properties(2, 100_000);
+		properties.setRead(new LimiterProperties.Limit(1, 0.001, 2));
+		LimiterFilter filter = filter(properties, new SimpleMeterRegistry());
+		int[] anidada = new int[1];
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/productos/1");
+		request.setRemoteAddr("203.0.113.5");
+		filter.doFilter(request, new MockHttpServletResponse(),
+				(req, res) -> anidada[0] = this.send(filter, "203.0.113.5", null, null));
+
+		assertEquals(503, anidada[0]);
+		assertEquals(200, this.send(filter, "203.0.113.5", null, null));
+	}
+
+	@Test
+	void resolveAddressSkipsTrustedHops() {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setRemoteAddr(PROXY);
+		request.addHeader(ClientIdentifier.FORWARDED_FOR, "192.0.2.9, 198.51.100.1, 10.0.0.2");
+
+		assertEquals("198.51.100.1", ClientIdentifier.resolveAddress(request, Set.of(PROXY, "10.0.0.2")));
+		assertEquals(PROXY, ClientIdentifier.resolveAddress(request, Set.of()));
+	}
+
+	private int send(LimiterFilter filter, String remoteAddr, String clientId, String forwardedFor)
+			throws IOException, ServletException {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/productos/1");
+		request.setRemoteAddr(remoteAddr);
+		if (clientId != null) {
+			request.addHeader("X-Client-Id", clientId);
+		}
+		if (forwardedFor != null) {
+			request.addHeader(ClientIdentifier.FORWARDED_FOR, forwardedFor);
+		}
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response.getStatus();
+	}
+
+	private static LimiterFilter filter(LimiterProperties properties, SimpleMeterRegistry registry) {
+		return new LimiterFilter(properties, registry, new ErrorResponses(registry), new ObjectMapper());
+	}
+
+	private static LimiterProperties properties(int burst, int maxClients) {
+		LimiterProperties properties = new LimiterProperties();
+		properties.setRead(new LimiterProperties.Limit(8, 0.001, burst));
+		properties.setMaxClients(maxClients);
+		properties.setTrustedProxies(Set.of(PROXY));
+		return properties;
+	}
+
+}
\ No newline at end of file
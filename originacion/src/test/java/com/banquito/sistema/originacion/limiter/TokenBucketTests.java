@@ -0,0 +1,59 @@
+package com.banquito.sistema.originacion.limiter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTests {
+
+	private static final long SEGUNDO = 1_000_000_000L;
+
+	@Test
+	void allowsBurstThenRejects() {
+		TokenBucket bucket = new TokenBucket(10, 5, 0);
+
+		for (int i = 0; i < 5; i++) {
+			assertEquals(0, bucket.tryAcquire(0));
+		}
+		assertTrue(bucket.tryAcquire(0) > 0);
+	}
+
+	@Test
+	void returnsWaitUntilNextToken() {
+		TokenBucket bucket = new TokenBucket(10, 1, 0);
+
+		assertEquals(0, bucket.tryAcquire(0));
+		assertEquals(SEGUNDO / 10, bucket.tryAcquire(0));
+		assertEquals(SEGUNDO / 10 - 40_000_000L, bucket.tryAcquire(40_000_000L));
+	}
+
+	@Test
+	void refillsAtConfiguredRate() {
+		TokenBucket bucket = new TokenBucket(10, 2, 0);
+		assertEquals(0, bucket.tryAcquire(0));
+		assertEquals(0, bucket.tryAcquire(0));
+		assertTrue(bucket.tryAcquire(0) > 0);
+
+		// Tras 100 ms se repone exactamente un permiso
+		assertEquals(0, bucket.tryAcquire(SEGUNDO / 10));
+		assertTrue(bucket.tryAcquire(SEGUNDO / 10) > 0);
+
+		// Tras un periodo largo el bucket vuelve a estar lleno, sin acumular más que la ráfaga
+		assertEquals(0, bucket.tryAcquire(10 * SEGUNDO));
+		assertEquals(0, bucket.tryAcquire(10 * SEGUNDO));
+		assertTrue(bucket.tryAcquire(10 * SEGUNDO) > 0);
+	}
+
+	@Test
+	void isIdleOnceFullyRefilled() {
+		TokenBucket bucket = new TokenBucket(10, 2, 0);
+		bucket.tryAcquire(0);
+		bucket.tryAcquire(0);
+
+		assertFalse(bucket.isIdle(SEGUNDO / 10));
+		assertTrue(bucket.isIdle(2 * SEGUNDO / 10));
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,438 @@
+package com.banquito.sistema.originacion.performance;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.banquito.sistema.originacion.model.CategoriaProducto;
+import com.banquito.sistema.originacion.model.Producto;
+import com.banquito.sistema.originacion.repository.CategoriaProductoRepository;
+import com.banquito.sistema.originacion.repository.ProductoRepository;
+
+@Tag("performance")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CatalogoLoadTests {
+
+	private static final Logger log = LoggerFactory.getLogger(CatalogoLoadTests.class);
+
+	private static final Path BASELINE = Path.of("src/test/resources/performance/baseline.properties");
+	private static final Path REPORT = Path.of("target/performance/report.properties");
+
+	private static final int CATEGORIAS = 20;
+	private static final int PRODUCTOS_POR_CATEGORIA = 100;
+	private static final int STOCK_INICIAL = 10_000_000;
+
+	enum Escenario {
+		BROWSE(50), SEARCH(20), CHECKOUT(15), RESTOCK(5), HOT_SKU(10);
+
+		private final int peso;
+
+		Escenario(int peso) {
+			this.peso = peso;
+		}
+
+		boolean escribeStock() {
+			return this == CHECKOUT || this == RESTOCK || this == HOT_SKU;
+		}
+	}
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private CategoriaProductoRepository categoriaRepository;
+
+	@Autowired
+	private ProductoRepository productoRepository;
+
+	private final HttpClient client = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+
+	private List<Long> categorias;
+	private List<Long> productos;
+	private Long hotSku;
+
+	@BeforeEach
+	void seed() {
+		this.categorias = new ArrayList<>();
+		this.productos = new ArrayList<>();
+		for (int c = 0; c < CATEGORIAS; c++) {
+			CategoriaProducto categoria = new CategoriaProducto();
+			categoria.setNombreCategoria("Categoria carga " + c + " " + System.nanoTime());
+			Long idCategoria = this.categoriaRepository.save(categoria).getIdCategoria();
+			this.categorias.add(idCategoria);
+
+			List<Producto> lote = new ArrayList<>();
+			for (int p = 0; p < PRODUCTOS_POR_CATEGORIA; p++) {
+				Producto producto = new Producto();
+				producto.setNombreProducto("Producto " + c + "-" + p);
+				producto.setPrecioVenta(new BigDecimal("12.50"));
+				producto.setCostoCompra(new BigDecimal("10.00"));
+				producto.setStockActual(STOCK_INICIAL);
+				producto.setIdCategoria(idCategoria);
+				lote.add(producto);
+			}
+			for (Producto producto : this.productoRepository.saveAll(lote)) {
+				this.productos.add(producto.getIdProducto());
+			}
+		}
+		this.hotSku = this.productos.get(0);
+	}
+
+	@Test
+	void catalogMixStaysWithinBaseline() throws Exception {
+		Duration warmup = Duration.parse(System.getProperty("performance.warmup", "PT10S"));
+		Duration duration = Duration.parse(System.getProperty("performance.duration", "PT30S"));
+		// Un cliente por núcleo con pausa entre peticiones: la carga queda por debajo de la
+		// saturación y la latencia medida es la de la aplicación, no la cola de la CPU
+		int threads = Integer.getInteger("performance.threads", Runtime.getRuntime().availableProcessors());
+		long pausa = Duration.parse(System.getProperty("performance.thinkTime", "PT0.02S")).toMillis();
+		double saturacion = Double.parseDouble(System.getProperty("performance.saturation", "0.85"));
+
+		this.run(threads, pausa, warmup);
+		Medicion medicion = this.run(threads, pausa, duration);
+		Properties medidos = medicion.toProperties();
+		boolean saturado = medicion.cpuLoad >= saturacion;
+
+		Files.createDirectories(REPORT.getParent());
+		try (OutputStream out = Files.newOutputStream(REPORT)) {
+			medidos.store(out, "Resultado de la prueba de carga");
+		}
+		log.info("Resultado de la prueba de carga:\n{}", medicion.resumen());
+
+		if (Boolean.getBoolean("performance.updateBaseline")) {
+			assertFalse(saturado, String.format(Locale.ROOT,
+					"El host estuvo saturado (CPU %.2f): las latencias no sirven como linea base", medicion.cpuLoad));
+			try (OutputStream out = Files.newOutputStream(BASELINE)) {
+				medidos.setProperty("tolerancia", System.getProperty("performance.tolerance", "0.25"));
+				medidos.setProperty("holguraMs", "5");
+				medidos.setProperty("maxErrorRate", "0.01");
+				medidos.store(out, String.format(Locale.ROOT,
+						"Linea base de la prueba de carga (%d hilos, pausa %d ms, %s sobre H2 embebida, CPU media %.2f)%n"
+								+ "Hardware: %s, %d nucleos, %d MB de heap, %s %s, Java %s%n"
+								+ "Regenerar en el mismo hardware con: mvn -Pperformance test -Dtest=CatalogoLoadTests"
+								+ " -Dperformance.updateBaseline=true",
+						threads, pausa, duration, medicion.cpuLoad, System.getProperty("performance.hardware", "sin describir"),
+						Runtime.getRuntime().availableProcessors(), Runtime.getRuntime().maxMemory() / (1024 * 1024),
+						System.getProperty("os.name"), System.getProperty("os.arch"), System.getProperty("java.version")));
+			}
+			return;
+		}
+
+		Properties baseline = new Properties();
+		try (InputStream in = Files.newInputStream(BASELINE)) {
+			baseline.load(in);
+		}
+		// Con el host saturado la latencia mide la cola de la CPU, no la aplicación
+		if (saturado) {
+			log.warn("Host saturado (CPU {}): solo se comparan throughput y errores", format(medicion.cpuLoad));
+		}
+		List<String> regresiones = compare(baseline, medidos, !saturado);
+		assertTrue(regresiones.isEmpty(), "Regresiones de rendimiento:\n" + String.join("\n", regresiones));
+	}
+
+	private Medicion run(int threads, long pausa, Duration duration) throws Exception {
+		long inicio = System.nanoTime();
+		long fin = inicio + duration.toNanos();
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CpuSampler cpu = new CpuSampler();
+		try {
+			List<Future<Medicion>> workers = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				workers.add(executor.submit(() -> this.worker(fin, pausa)));
+			}
+			Medicion total = new Medicion();
+			for (Future<Medicion> worker : workers) {
+				total.merge(worker.get());
+			}
+			total.nanos = System.nanoTime() - inicio;
+			total.cpuLoad = cpu.average();
+			return total;
+		} finally {
+			executor.shutdownNow();
+			cpu.close();
+		}
+	}
+
+	private Medicion worker(long fin, long pausa) throws InterruptedException {
+		Medicion medicion = new Medicion();
+		while (System.nanoTime() < fin) {
+			Escenario escenario = nextEscenario();
+			HttpRequest request = this.request(escenario);
+			long inicio = System.nanoTime();
+			int status;
+			try {
+				status = this.client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+			} catch (IOException e) {
+				status = -1;
+			}
+			medicion.record(escenario, System.nanoTime() - inicio, status);
+			Thread.sleep(pausa);
+		}
+		return medicion;
+	}
+
+	private HttpRequest request(Escenario escenario) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		Long producto = this.productos.get(random.nextInt(this.productos.size()));
+		switch (escenario) {
+			case BROWSE:
+				int opcion = random.nextInt(10);
+				if (opcion < 6) {
+					return get("/api/productos/" + producto);
+				} else if (opcion < 9) {
+					return get("/api/productos?categoriaId=" + this.categorias.get(random.nextInt(this.categorias.size())));
+				}
+				return get("/api/categorias-producto");
+			case SEARCH:
+				if (random.nextBoolean()) {
+					return get("/api/productos?nombre=Producto%20" + random.nextInt(CATEGORIAS) + "-" + random.nextInt(10));
+				}
+				return get("/api/productos?stockMinimo=" + random.nextInt(100));
+			case CHECKOUT:
+				return patch("/api/productos/" + producto + "/disminuir-stock", "{\"cantidad\":1}");
+			case RESTOCK:
+				return patch("/api/productos/" + producto + "/aumentar-stock", "{\"cantidad\":5,\"precioCompra\":10.00}");
+			case HOT_SKU:
+			default:
+				return patch("/api/productos/" + this.hotSku + "/disminuir-stock", "{\"cantidad\":1}");
+		}
+	}
+
+	private HttpRequest get(String path) {
+		return HttpRequest.newBuilder(this.uri(path)).GET().build();
+	}
+
+	private HttpRequest patch(String path, String body) {
+		return HttpRequest.newBuilder(this.uri(path))
+				.header("Content-Type", "application/json")
+				.method("PATCH", HttpRequest.BodyPublishers.ofString(body))
+				.build();
+	}
+
+	private URI uri(String path) {
+		return URI.create("http://localhost:" + this.port + path);
+	}
+
+	private static Escenario nextEscenario() {
+		int valor = ThreadLocalRandom.current().nextInt(100);
+		int acumulado = 0;
+		for (Escenario escenario : Escenario.values()) {
+			acumulado += escenario.peso;
+			if (valor < acumulado) {
+				return escenario;
+			}
+		}
+		return Escenario.BROWSE;
+	}
+
+	private static List<String> compare(Properties baseline, Properties medidos, boolean latencias) {
+		double tolerancia = Double.parseDouble(baseline.getProperty("tolerancia", "0.25"));
+		double holguraMs = Double.parseDouble(baseline.getProperty("holguraMs", "5"));
+		double maxErrorRate = Double.parseDouble(baseline.getProperty("maxErrorRate", "0.01"));
+		List<String> regresiones = new ArrayList<>();
+
+		for (String clave : baseline.stringPropertyNames()) {
+			String medido = medidos.getProperty(clave);
+			if (medido == null) {
+				continue;
+			}
+			double base = Double.parseDouble(baseline.getProperty(clave));
+			double valor = Double.parseDouble(medido);
+			if (latencias && clave.endsWith("Ms") && estable(clave, medidos) && valor > base * (1 + tolerancia) + holguraMs) {
+				regresiones.add(String.format(Locale.ROOT, "%s: %.2f ms (linea base %.2f ms)", clave, valor, base));
+			} else if (clave.endsWith("throughput") && valor < base * (1 - tolerancia)) {
+				regresiones.add(String.format(Locale.ROOT, "%s: %.1f req/s (linea base %.1f req/s)", clave, valor, base));
+			}
+		}
+
+		double errorRate = Double.parseDouble(medidos.getProperty("total.errorRate"));
+		if (errorRate > maxErrorRate) {
+			regresiones.add(String.format(Locale.ROOT, "total.errorRate: %.4f (maximo %.4f)", errorRate, maxErrorRate));
+		}
+		return regresiones;
+	}
+
+	// Un percentil con menos de diez muestras por encima es prácticamente el máximo: una pausa
+	// del GC basta para moverlo, así que solo se compara cuando la muestra lo sostiene
+	private static boolean estable(String clave, Properties medidos) {
+		String escenario = clave.substring(0, clave.indexOf('.'));
+		double percentil = Double.parseDouble(clave.substring(clave.indexOf(".p") + 2, clave.length() - 2)) / 100;
+		long muestras = Long.parseLong(medidos.getProperty(escenario + ".n", "0"));
+		return muestras * (1 - percentil) >= 10;
+	}
+
+	private static final class Medicion {
+
+		private final Map<Escenario, Latencias> latencias = new EnumMap<>(Escenario.class);
+		private long total;
+		private long errores;
+		private long rechazos;
+		private long nanos;
+		private double cpuLoad;
+
+		Medicion() {
+			for (Escenario escenario : Escenario.values()) {
+				this.latencias.put(escenario, new Latencias());
+			}
+		}
+
+		void record(Escenario escenario, long nanos, int status) {
+			this.total++;
+			this.latencias.get(escenario).add(nanos);
+			if (status >= 200 && status < 300) {
+				return;
+			}
+			// Los conflictos de concurrencia sobre el stock son un resultado esperado
+			if (escenario.escribeStock() && status == 409) {
+				this.rechazos++;
+			} else {
+				this.errores++;
+			}
+		}
+
+		void merge(Medicion otra) {
+			this.total += otra.total;
+			this.errores += otra.errores;
+			this.rechazos += otra.rechazos;
+			for (Escenario escenario : Escenario.values()) {
+				this.latencias.get(escenario).addAll(otra.latencias.get(escenario));
+			}
+		}
+
+		Properties toProperties() {
+			Properties properties = new Properties();
+			double segundos = this.nanos / 1_000_000_000.0;
+			properties.setProperty("total.throughput", format(this.total / segundos));
+			properties.setProperty("total.errorRate", format(this.total == 0 ? 1.0 : (double) this.errores / this.total));
+			properties.setProperty("host.cpuLoad", format(this.cpuLoad));
+			for (Map.Entry<Escenario, Latencias> entry : this.latencias.entrySet()) {
+				String nombre = entry.getKey().name().toLowerCase(Locale.ROOT);
+				Latencias valores = entry.getValue();
+				valores.sort();
+				properties.setProperty(nombre + ".n", Integer.toString(valores.size));
+				properties.setProperty(nombre + ".p50Ms", format(valores.percentileMillis(0.50)));
+				properties.setProperty(nombre + ".p95Ms", format(valores.percentileMillis(0.95)));
+				properties.setProperty(nombre + ".p99Ms", format(valores.percentileMillis(0.99)));
+			}
+			return properties;
+		}
+
+		String resumen() {
+			StringBuilder resumen = new StringBuilder(String.format(Locale.ROOT,
+					"Peticiones: %d, errores: %d, rechazos por contencion: %d, %.1f req/s, CPU %.2f%n",
+					this.total, this.errores, this.rechazos, this.total / (this.nanos / 1_000_000_000.0), this.cpuLoad));
+			for (Map.Entry<Escenario, Latencias> entry : this.latencias.entrySet()) {
+				Latencias valores = entry.getValue();
+				resumen.append(String.format(Locale.ROOT, "  %-8s n=%-7d p50=%.2fms p95=%.2fms p99=%.2fms%n",
+						entry.getKey(), valores.size, valores.percentileMillis(0.50),
+						valores.percentileMillis(0.95), valores.percentileMillis(0.99)));
+			}
+			return resumen.toString();
+		}
+
+	}
+
+	private static String format(double valor) {
+		return String.format(Locale.ROOT, "%.3f", valor);
+	}
+
+	// Carga media de CPU del host durante la medición, según la JVM
+	private static final class CpuSampler implements AutoCloseable {
+
+		private final com.sun.management.OperatingSystemMXBean os =
+				(com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+		private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+		private double suma;
+		private int muestras;
+
+		CpuSampler() {
+			this.scheduler.scheduleAtFixedRate(this::sample, 1, 1, TimeUnit.SECONDS);
+		}
+
+		private synchronized void sample() {
+			double carga = this.os.getCpuLoad();
+			if (carga >= 0) {
+				this.suma += carga;
+				this.muestras++;
+			}
+		}
+
+		synchronized double average() {
+			return this.muestras == 0 ? 0 : this.suma / this.muestras;
+		}
+
+		@Override
+		public void close() {
+			this.scheduler.shutdownNow();
+		}
+	}
+
+	private static final class Latencias {
+
+		private long[] valores = new long[1024];
+		private int size;
+
+		void add(long nanos) {
+			if (this.size == this.valores.length) {
+				this.valores = Arrays.copyOf(this.valores, this.size * 2);
+			}
+			this.valores[this.size++] = nanos;
+		}
+
+		void addAll(Latencias otras) {
+			for (int i = 0; i < otras.size; i++) {
+				this.add(otras.valores[i]);
+			}
+		}
+
+		void sort() {
+			Arrays.sort(this.valores, 0, this.size);
+		}
+
+		double percentileMillis(double percentil) {
+			if (this.size == 0) {
+				return 0;
+			}
+			int index = (int) Math.ceil(percentil * this.size) - 1;
+			return this.valores[Math.max(index, 0)] / 1_000_000.0;
+		}
+	}
+
+}
\ No newline at end of file
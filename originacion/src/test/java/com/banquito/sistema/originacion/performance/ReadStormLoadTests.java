@@ -0,0 +1,208 @@
+package com.banquito.sistema.originacion.performance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.banquito.sistema.originacion.config.ClientIdentifier;
+import com.banquito.sistema.originacion.model.CategoriaProducto;
+import com.banquito.sistema.originacion.model.Producto;
+import com.banquito.sistema.originacion.repository.CategoriaProductoRepository;
+import com.banquito.sistema.originacion.repository.ProductoRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+// Comprueba que una avalancha de lecturas y búsquedas desde muchos clientes se descarta
+// en el limitador sin agotar el pool: los bulkheads suman menos conexiones que el pool,
+// así que las compras siempre encuentran una conexión libre y su latencia se mantiene acotada
+@Tag("performance")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"originacion.limiter.enabled=true",
+		"originacion.limiter.trusted-proxies=127.0.0.1"
+})
+class ReadStormLoadTests {
+
+	private static final Logger log = LoggerFactory.getLogger(ReadStormLoadTests.class);
+
+	private static final int PRODUCTOS = 500;
+	private static final int COMPRAS = 200;
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private CategoriaProductoRepository categoriaRepository;
+
+	@Autowired
+	private ProductoRepository productoRepository;
+
+	@Autowired
+	private DataSource dataSource;
+
+	private final HttpClient client = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+
+	private Long idCategoria;
+	private List<Long> productos;
+
+	@BeforeEach
+	void seed() {
+		CategoriaProducto categoria = new CategoriaProducto();
+		categoria.setNombreCategoria("Categoria tormenta " + System.nanoTime());
+		this.idCategoria = this.categoriaRepository.save(categoria).getIdCategoria();
+
+		List<Producto> lote = new ArrayList<>();
+		for (int p = 0; p < PRODUCTOS; p++) {
+			Producto producto = new Producto();
+			producto.setNombreProducto("Producto tormenta " + p);
+			producto.setPrecioVenta(new BigDecimal("12.50"));
+			producto.setCostoCompra(new BigDecimal("10.00"));
+			producto.setStockActual(1_000_000);
+			producto.setIdCategoria(this.idCategoria);
+			lote.add(producto);
+		}
+		this.productos = new ArrayList<>();
+		for (Producto producto : this.productoRepository.saveAll(lote)) {
+			this.productos.add(producto.getIdProducto());
+		}
+	}
+
+	@Test
+	void checkoutsKeepConnectionsDuringReadStorm() throws Exception {
+		// Los clientes de la tormenta hacen una pausa entre peticiones para no ocupar ellos mismos
+		// la CPU que comparten con el servidor; aun así superan con creces su límite de tasa
+		int hilos = Integer.getInteger("performance.stormThreads", 2 * Runtime.getRuntime().availableProcessors());
+		long pausa = Duration.parse(System.getProperty("performance.stormPause", "PT0.005S")).toMillis();
+		double factor = Double.parseDouble(System.getProperty("performance.stormFactor", "3"));
+		double holguraMs = Double.parseDouble(System.getProperty("performance.stormSlackMs", "20"));
+		this.checkouts(COMPRAS / 4);
+		long[] enCalma = this.checkouts(COMPRAS);
+
+		AtomicBoolean activa = new AtomicBoolean(true);
+		AtomicLong atendidas = new AtomicLong();
+		AtomicLong descartadas = new AtomicLong();
+		AtomicInteger maximoActivas = new AtomicInteger();
+		HikariDataSource hikari = this.dataSource.unwrap(HikariDataSource.class);
+		HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+		int tamanoPool = hikari.getMaximumPoolSize();
+		ExecutorService tormenta = Executors.newFixedThreadPool(hilos + 1);
+		long[] bajoTormenta;
+		try {
+			for (int i = 0; i < hilos; i++) {
+				String cliente = "198.51.100." + (i + 1);
+				tormenta.submit(() -> this.storm(cliente, pausa, activa, atendidas, descartadas));
+			}
+			tormenta.submit(() -> {
+				while (activa.get()) {
+					maximoActivas.accumulateAndGet(pool.getActiveConnections(), Math::max);
+					Thread.sleep(1);
+				}
+				return null;
+			});
+			Thread.sleep(1_000);
+			bajoTormenta = this.checkouts(COMPRAS);
+		} finally {
+			activa.set(false);
+			tormenta.shutdownNow();
+		}
+
+		double p95Calma = percentileMillis(enCalma, 0.95);
+		double p95Tormenta = percentileMillis(bajoTormenta, 0.95);
+		String resumen = String.format(Locale.ROOT,
+				"compras p95 en calma %.2f ms, bajo tormenta %.2f ms; lecturas atendidas %d, descartadas %d;"
+						+ " maximo de conexiones activas %d de %d",
+				p95Calma, p95Tormenta, atendidas.get(), descartadas.get(), maximoActivas.get(), tamanoPool);
+		log.info(resumen);
+
+		assertTrue(descartadas.get() > 0, "La tormenta no llegó a saturar el limitador: " + resumen);
+		assertTrue(maximoActivas.get() < tamanoPool, "El pool de conexiones se agotó: " + resumen);
+		assertTrue(p95Tormenta <= factor * p95Calma + holguraMs, String.format(Locale.ROOT,
+				"Las compras se degradaron mas de %.1fx + %.0f ms bajo la tormenta: %s", factor, holguraMs, resumen));
+	}
+
+	// Compras secuenciales de un único cliente, por debajo de su límite de tasa
+	private long[] checkouts(int cantidad) throws Exception {
+		long[] latencias = new long[cantidad];
+		for (int i = 0; i < cantidad; i++) {
+			Long producto = this.productos.get(ThreadLocalRandom.current().nextInt(this.productos.size()));
+			HttpRequest request = HttpRequest.newBuilder(this.uri("/api/productos/" + producto + "/disminuir-stock"))
+					.header("Content-Type", "application/json")
+					.method("PATCH", HttpRequest.BodyPublishers.ofString("{\"cantidad\":1}"))
+					.build();
+			long inicio = System.nanoTime();
+			int status = this.client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+			latencias[i] = System.nanoTime() - inicio;
+			assertEquals(200, status, "Compra rechazada durante la prueba");
+			Thread.sleep(40);
+		}
+		return latencias;
+	}
+
+	private void storm(String cliente, long pausa, AtomicBoolean activa, AtomicLong atendidas, AtomicLong descartadas) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		while (activa.get() && !Thread.currentThread().isInterrupted()) {
+			String path = random.nextBoolean()
+					? "/api/productos?categoriaId=" + this.idCategoria
+					: "/api/productos?stockMinimo=" + random.nextInt(100);
+			HttpRequest request = HttpRequest.newBuilder(this.uri(path))
+					.header(ClientIdentifier.FORWARDED_FOR, cliente)
+					.GET()
+					.build();
+			try {
+				int status = this.client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+				if (status == 429 || status == 503) {
+					descartadas.incrementAndGet();
+				} else {
+					atendidas.incrementAndGet();
+				}
+				Thread.sleep(pausa);
+			} catch (IOException e) {
+				descartadas.incrementAndGet();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private URI uri(String path) {
+		return URI.create("http://127.0.0.1:" + this.port + path);
+	}
+
+	private static double percentileMillis(long[] latencias, double percentil) {
+		long[] ordenadas = latencias.clone();
+		Arrays.sort(ordenadas);
+		int index = (int) Math.ceil(percentil * ordenadas.length) - 1;
+		return ordenadas[Math.max(index, 0)] / 1_000_000.0;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,109 @@
+package com.banquito.sistema.originacion.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.banquito.sistema.originacion.dto.ResumenCategoriaDTO;
+import com.banquito.sistema.originacion.exception.ErrorType;
+import com.banquito.sistema.originacion.model.CategoriaProducto;
+import com.banquito.sistema.originacion.model.Producto;
+
+@SpringBootTest
+class CategoriaProductoServiceTests {
+
+	@Autowired
+	private CategoriaProductoService service;
+
+	@Autowired
+	private ProductoService productoService;
+
+	@Test
+	void createReportsDuplicateName() {
+		String nombre = "Categoria duplicada " + System.nanoTime();
+		assertTrue(this.service.create(this.categoria(nombre)).isOk());
+
+		Resultado<CategoriaProducto> duplicada = this.service.create(this.categoria(nombre));
+		assertEquals(ErrorType.DUPLICATE, duplicada.getErrorType());
+	}
+
+	@Test
+	void deleteReportsCategoryInUse() {
+		Long idCategoria = this.crearCategoria("Categoria en uso");
+		Long idProducto = this.crearProducto(idCategoria, 5);
+
+		assertEquals(ErrorType.IN_USE, this.service.delete(idCategoria).getErrorType());
+
+		assertTrue(this.productoService.delete(idProducto).isOk());
+		assertTrue(this.service.delete(idCategoria).isOk());
+		assertEquals(ErrorType.NOT_FOUND, this.service.findById(idCategoria).getErrorType());
+	}
+
+	@Test
+	void findResumenCountsProductsAndStockByState() {
+		Long idCategoria = this.crearCategoria("Categoria resumen");
+		this.crearProducto(idCategoria, 10);
+		this.crearProducto(idCategoria, 5);
+		Long inactivo = this.crearProducto(idCategoria, 3);
+		assertTrue(this.productoService.changeState(inactivo, "INACTIVO", null).isOk());
+		this.crearProducto(idCategoria, 0);
+
+		ResumenCategoriaDTO resumen = this.service.findResumen(idCategoria).getValor();
+
+		assertEquals(4, resumen.getTotalProductos());
+		assertEquals(18, resumen.getStockTotal());
+		assertEquals(Map.of("ACTIVO", 2L, "INACTIVO", 1L, "AGOTADO", 1L), resumen.getProductosPorEstado());
+		assertEquals(ErrorType.NOT_FOUND, this.service.findResumen(-1L).getErrorType());
+	}
+
+	@Test
+	void findResumenesMatchesPerCategorySummary() {
+		Long conProductos = this.crearCategoria("Categoria resumenes");
+		this.crearProducto(conProductos, 7);
+		this.crearProducto(conProductos, 0);
+		Long vacia = this.crearCategoria("Categoria vacia");
+
+		Map<Long, ResumenCategoriaDTO> resumenes = new HashMap<>();
+		for (ResumenCategoriaDTO resumen : this.service.findResumenes()) {
+			resumenes.put(resumen.getIdCategoria(), resumen);
+		}
+
+		ResumenCategoriaDTO resumen = resumenes.get(conProductos);
+		assertEquals(2, resumen.getTotalProductos());
+		assertEquals(7, resumen.getStockTotal());
+		assertEquals(Map.of("ACTIVO", 1L, "AGOTADO", 1L), resumen.getProductosPorEstado());
+
+		ResumenCategoriaDTO sinProductos = resumenes.get(vacia);
+		assertEquals(0, sinProductos.getTotalProductos());
+		assertEquals(0, sinProductos.getStockTotal());
+		assertTrue(sinProductos.getProductosPorEstado().isEmpty());
+	}
+
+	private Long crearCategoria(String nombre) {
+		return this.service.create(this.categoria(nombre + " " + System.nanoTime())).getValor().getIdCategoria();
+	}
+
+	private Long crearProducto(Long idCategoria, int stock) {
+		Producto producto = new Producto();
+		producto.setNombreProducto("Producto de prueba");
+		producto.setPrecioVenta(new BigDecimal("12.50"));
+		producto.setCostoCompra(new BigDecimal("10.00"));
+		producto.setStockActual(stock);
+		producto.setIdCategoria(idCategoria);
+		return this.productoService.create(producto).getValor().getIdProducto();
+	}
+
+	private CategoriaProducto categoria(String nombre) {
+		CategoriaProducto categoria = new CategoriaProducto();
+		categoria.setNombreCategoria(nombre);
+		return categoria;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,165 @@
+package com.banquito.sistema.originacion.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+
+import com.banquito.sistema.originacion.dto.CambiosProductoDTO;
+import com.banquito.sistema.originacion.model.CategoriaProducto;
+import com.banquito.sistema.originacion.model.Producto;
+import com.banquito.sistema.originacion.model.ProductoCambio;
+import com.banquito.sistema.originacion.repository.CategoriaProductoRepository;
+import com.banquito.sistema.originacion.repository.ProductoCambioRepository;
+
+@SpringBootTest
+class ProductoServiceTests {
+
+	@Autowired
+	private ProductoService service;
+
+	@Autowired
+	private CategoriaProductoRepository categoriaRepository;
+
+	@Autowired
+	private ProductoCambioRepository cambioRepository;
+
+	private Long idCategoria;
+	private Long cursor;
+
+	@BeforeEach
+	void setUp() {
+		CategoriaProducto categoria = new CategoriaProducto();
+		categoria.setNombreCategoria("Categoria cambios " + System.nanoTime());
+		this.idCategoria = this.categoriaRepository.save(categoria).getIdCategoria();
+
+		// Parte del final del registro para no depender de otras pruebas
+		CambiosProductoDTO cambios = this.service.findCambios(0L, null);
+		while (cambios.isHayMas()) {
+			cambios = this.service.findCambios(cambios.getCursor(), null);
+		}
+		this.cursor = cambios.getCursor();
+	}
+
+	@Test
+	void findCambiosPagesWithCursor() {
+		Long primero = this.crear("A");
+		Long segundo = this.crear("B");
+		Long tercero = this.crear("C");
+
+		CambiosProductoDTO pagina = this.service.findCambios(this.cursor, 2);
+		assertTrue(pagina.isHayMas());
+		assertEquals(List.of(primero, segundo), ids(pagina));
+
+		CambiosProductoDTO siguiente = this.service.findCambios(pagina.getCursor(), 2);
+		assertFalse(siguiente.isHayMas());
+		assertEquals(List.of(tercero), ids(siguiente));
+
+		CambiosProductoDTO vacia = this.service.findCambios(siguiente.getCursor(), 2);
+		assertFalse(vacia.isHayMas());
+		assertTrue(vacia.getProductos().isEmpty());
+		assertEquals(siguiente.getCursor(), vacia.getCursor());
+	}
+
+	@Test
+	void findCambiosReportsDeleteAsTombstone() {
+		Long eliminado = this.crear("Eliminado");
+		Long vigente = this.crear("Vigente");
+		CambiosProductoDTO creados = this.service.findCambios(this.cursor, null);
+
+		assertTrue(this.service.delete(eliminado).isOk());
+
+		CambiosProductoDTO cambios = this.service.findCambios(creados.getCursor(), null);
+		assertEquals(List.of(eliminado), cambios.getEliminados());
+		assertTrue(cambios.getProductos().isEmpty());
+
+		CambiosProductoDTO desdeInicio = this.service.findCambios(this.cursor, null);
+		assertEquals(List.of(vigente), ids(desdeInicio));
+		assertEquals(List.of(eliminado), desdeInicio.getEliminados());
+	}
+
+	@Test
+	void findCambiosHoldsCursorAtRecentGap() {
+		Long primero = this.crear("Antes del hueco");
+		// Simula una transacción que recibió su identificador y aún no ha confirmado
+		ProductoCambio enCurso = this.cambioRepository.save(new ProductoCambio(primero, "ACTUALIZADO"));
+		Long segundo = this.crear("Despues del hueco");
+		this.cambioRepository.delete(enCurso);
+
+		CambiosProductoDTO retenida = this.service.findCambios(this.cursor, null);
+		assertEquals(List.of(primero), ids(retenida));
+		assertFalse(retenida.isHayMas());
+
+		// Pasada la ventana de asentamiento el hueco es un rollback y se salta
+		ProductoCambio siguiente = this.cambioRepository
+				.findByIdCambioGreaterThanOrderByIdCambioAsc(retenida.getCursor(), Limit.of(1)).get(0);
+		siguiente.setFechaCambio(LocalDateTime.now().minusMinutes(1));
+		this.cambioRepository.save(siguiente);
+
+		CambiosProductoDTO asentada = this.service.findCambios(retenida.getCursor(), null);
+		assertEquals(List.of(segundo), ids(asentada));
+	}
+
+	@Test
+	void compactarCambiosKeepsLatestChangePerProduct() {
+		Long vigente = this.crear("Compactado");
+		assertTrue(this.service.disminuirStock(vigente, 1).isOk());
+		assertTrue(this.service.disminuirStock(vigente, 1).isOk());
+		Long eliminado = this.crear("Compactado eliminado");
+		assertTrue(this.service.delete(eliminado).isOk());
+
+		this.envejecer(vigente, LocalDateTime.now().minusHours(1));
+		this.envejecer(eliminado, LocalDateTime.now().minusHours(1));
+		this.service.compactarCambios();
+
+		assertEquals(List.of("ACTUALIZADO"), this.tiposCambio(vigente));
+		assertEquals(List.of("ELIMINADO"), this.tiposCambio(eliminado));
+
+		// Las eliminaciones se descartan al superar la antigüedad máxima de un cursor
+		this.envejecer(eliminado, LocalDateTime.now().minusDays(8));
+		this.service.compactarCambios();
+		assertTrue(this.tiposCambio(eliminado).isEmpty());
+
+		// Deja un cambio asentado al final para que las pruebas siguientes no partan de un hueco
+		this.envejecer(this.crear("Cola"), LocalDateTime.now().minusHours(1));
+	}
+
+	private void envejecer(Long idProducto, LocalDateTime fecha) {
+		for (ProductoCambio cambio : this.cambioRepository.findAll()) {
+			if (cambio.getIdProducto().equals(idProducto)) {
+				cambio.setFechaCambio(fecha);
+				this.cambioRepository.save(cambio);
+			}
+		}
+	}
+
+	private List<String> tiposCambio(Long idProducto) {
+		return this.cambioRepository.findAll().stream()
+				.filter(cambio -> cambio.getIdProducto().equals(idProducto))
+				.map(ProductoCambio::getTipoCambio)
+				.toList();
+	}
+
+	private Long crear(String nombre) {
+		Producto producto = new Producto();
+		producto.setNombreProducto("Producto " + nombre);
+		producto.setPrecioVenta(new BigDecimal("5.00"));
+		producto.setStockActual(10);
+		producto.setIdCategoria(this.idCategoria);
+		return this.service.create(producto).getValor().getIdProducto();
+	}
+
+	private static List<Long> ids(CambiosProductoDTO cambios) {
+		return cambios.getProductos().stream().map(Producto::getIdProducto).toList();
+	}
+
+}
\ No newline at end of file